@@ -0,0 +1,221 @@
+package com.gildedrose;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Writes the daily {@code name, sellIn, quality} report of the text fixtures
+ * into a reused buffer and hands it to the output in large blocks. The bytes
+ * are the same as printing each line with {@code System.out.println}, names
+ * being encoded with the charset of the output.
+ * <p>
+ * A copy of the renderer in the {@code Java} folder: each kata folder builds
+ * on its own, so the two are kept identical by hand.
+ */
+public class DailyReportRenderer implements Flushable {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] DAY_PREFIX = ascii("-------- day ");
+    private static final byte[] DAY_SUFFIX = ascii(" --------");
+    private static final byte[] COLUMNS = ascii("name, sellIn, quality");
+    private static final byte[] SEPARATOR = ascii(", ");
+    private static final byte[] LINE_SEPARATOR = ascii(System.lineSeparator());
+
+    // Room for the separators and two signed ints of a line
+    private static final int LINE_OVERHEAD = 32;
+
+    private final WritableByteChannel out;
+    private final Flushable target;
+    private final ByteBuffer buffer;
+    private final Charset charset;
+
+    /**
+     * Encodes names as {@code out} would if it is a {@link PrintStream}, such
+     * as {@code System.out}, and with the default charset otherwise.
+     */
+    public DailyReportRenderer(OutputStream out) {
+        this(out, charsetOf(out));
+    }
+
+    public DailyReportRenderer(OutputStream out, Charset charset) {
+        this(Channels.newChannel(out), out, DEFAULT_BUFFER_SIZE, charset);
+    }
+
+    public DailyReportRenderer(WritableByteChannel out, int bufferSize) {
+        this(out, bufferSize, Charset.defaultCharset());
+    }
+
+    public DailyReportRenderer(WritableByteChannel out, int bufferSize, Charset charset) {
+        this(out, null, bufferSize, charset);
+    }
+
+    private DailyReportRenderer(WritableByteChannel out, Flushable target, int bufferSize, Charset charset) {
+        // The fixed parts of the report and ASCII names are written as single bytes
+        if (!Arrays.equals(COLUMNS, "name, sellIn, quality".getBytes(charset))) {
+            throw new IllegalArgumentException("Charset is not ASCII-compatible: " + charset);
+        }
+        this.out = out;
+        this.target = target;
+        this.buffer = ByteBuffer.allocate(Math.max(bufferSize, 2 * LINE_OVERHEAD));
+        this.charset = charset;
+    }
+
+    /**
+     * The charset a PrintStream encodes with: {@code PrintStream.charset()}
+     * from Java 18, where {@code System.out} follows {@code stdout.encoding}.
+     * Before that, {@code System.out} honours {@code sun.stdout.encoding} and
+     * other print streams use the default charset.
+     */
+    static Charset charsetOf(OutputStream out) {
+        if (out instanceof PrintStream) {
+            try {
+                return (Charset) PrintStream.class.getMethod("charset").invoke(out);
+            } catch (ReflectiveOperationException e) {
+                // Before Java 18
+            }
+            String encoding = System.getProperty("sun.stdout.encoding");
+            if (out == System.out && encoding != null && Charset.isSupported(encoding)) {
+                return Charset.forName(encoding);
+            }
+        }
+        return Charset.defaultCharset();
+    }
+
+    private static byte[] ascii(String text) {
+        byte[] bytes = new byte[text.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) text.charAt(i);
+        }
+        return bytes;
+    }
+
+    public void line(String text) {
+        putText(text);
+        putBytes(LINE_SEPARATOR);
+    }
+
+    public void day(int day, Item[] items) {
+        require(LINE_OVERHEAD);
+        buffer.put(DAY_PREFIX);
+        putInt(buffer, day);
+        buffer.put(DAY_SUFFIX);
+        putBytes(LINE_SEPARATOR);
+        putBytes(COLUMNS);
+        putBytes(LINE_SEPARATOR);
+
+        for (Item item : items) {
+            item(item);
+        }
+        putBytes(LINE_SEPARATOR);
+    }
+
+    public void item(Item item) {
+        item(item.name, item.sellIn, item.quality);
+    }
+
+    public void item(String name, int sellIn, int quality) {
+        putText(name);
+        require(LINE_OVERHEAD);
+        buffer.put(SEPARATOR);
+        putInt(buffer, sellIn);
+        buffer.put(SEPARATOR);
+        putInt(buffer, quality);
+        buffer.put(LINE_SEPARATOR);
+    }
+
+    private void putText(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) >= 0x80) {
+                putBytes(text.getBytes(charset));
+                return;
+            }
+        }
+
+        for (int written = 0; written < length;) {
+            require(1);
+            int chunk = Math.min(buffer.remaining(), length - written);
+            byte[] bytes = buffer.array();
+            int offset = buffer.arrayOffset() + buffer.position();
+            for (int i = 0; i < chunk; i++) {
+                bytes[offset + i] = (byte) text.charAt(written + i);
+            }
+            buffer.position(buffer.position() + chunk);
+            written += chunk;
+        }
+    }
+
+    private void putBytes(byte[] bytes) {
+        for (int written = 0; written < bytes.length;) {
+            require(1);
+            int chunk = Math.min(buffer.remaining(), bytes.length - written);
+            buffer.put(bytes, written, chunk);
+            written += chunk;
+        }
+    }
+
+    private void require(int bytes) {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void flush() {
+        drain();
+        if (target != null) {
+            try {
+                target.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the decimal digits of {@code value} without going through a
+     * String. The buffer must be backed by an array.
+     */
+    static void putInt(ByteBuffer buffer, int value) {
+        long remaining = value;
+        if (remaining < 0) {
+            buffer.put((byte) '-');
+            remaining = -remaining;
+        }
+
+        int digits = 1;
+        for (long bound = 10; bound <= remaining; bound *= 10) {
+            digits++;
+        }
+
+        byte[] bytes = buffer.array();
+        int end = buffer.arrayOffset() + buffer.position() + digits;
+        for (int i = end - 1; i >= end - digits; i--) {
+            bytes[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        buffer.position(buffer.position() + digits);
+    }
+
+}
@@ -1,9 +1,23 @@
 package com.gildedrose;
 
+import java.io.OutputStream;
+
 public class Program {
 
+	/**
+	 * Usage: {@code Program [days]}, 30 days by default.
+	 */
 	public static void main(String... args) {
-		System.out.println("OMGHAI!");
+		int days = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+		run(System.out, days);
+	}
+
+	/**
+	 * Writes the report for day 0 to {@code days} to {@code out}.
+	 */
+	public static void run(OutputStream out, int days) {
+		DailyReportRenderer report = new DailyReportRenderer(out);
+		report.line("OMGHAI!");
 
 		Item[] items = new Item[] { 
 				new Item("+5 Dexterity Vest", 10, 20), 
@@ -19,14 +33,10 @@ public class Program {
 
 		GildedRose app = new GildedRose(items);
 
-		for (int i = 0; i < 31; i++) {
-			System.out.println("-------- day " + i + " --------");
-			System.out.println("name, sellIn, quality");
-			for (int j = 0; j < items.length; j++) {
-				System.out.println(items[j]);
-			}
-			System.out.println("");
+		for (int i = 0; i <= days; i++) {
+			report.day(i, items);
 			app.updateQuality();
 		}
+		report.flush();
 	}
 }
@@ -1,9 +1,5 @@
 package com.gildedrose;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
-
 import org.approvaltests.Approvals;
 import org.approvaltests.reporters.DiffReporter;
 import org.approvaltests.reporters.UseReporter;
@@ -26,13 +22,6 @@ public class GildedRoseApprovalTest {
     @Test
     public void thirtyDays() {
 
-        ByteArrayOutputStream fakeoutput = new ByteArrayOutputStream();
-        System.setOut(new PrintStream(fakeoutput));
-        System.setIn(new ByteArrayInputStream("a\n".getBytes()));
-
-        Program.main();
-        String output = fakeoutput.toString();
-
-        Approvals.verify(output);
+        StreamingApproval.verify(output -> Program.run(output, 30));
     }
 }
@@ -0,0 +1,251 @@
+package com.gildedrose;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.approvaltests.Approvals;
+import org.approvaltests.namer.ApprovalNamer;
+
+/**
+ * Approval of an output too large to build as a String: the output is
+ * compared byte by byte with the approved file one block at a time as it is
+ * written, so only one block of each is held in memory. The output also goes
+ * to the received file, which is kept for diffing and approving when it
+ * differs. The first difference is reported with its line and report day.
+ */
+class StreamingApproval extends OutputStream {
+
+    static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private static final byte[] DAY_PREFIX = "-------- day ".getBytes(StandardCharsets.US_ASCII);
+
+    private final File approvedFile;
+    private final File receivedFile;
+    private final InputStream approved;
+    private final OutputStream received;
+
+    private final byte[] block;
+    private final byte[] expected;
+    private int filled;
+    private long blockOffset;
+    private long divergence = -1;
+    private boolean closed;
+
+    StreamingApproval(File approvedFile, File receivedFile, int blockSize) throws IOException {
+        this.approvedFile = approvedFile;
+        this.receivedFile = receivedFile;
+        this.approved = approvedFile.isFile() ? new BufferedInputStream(new FileInputStream(approvedFile)) : null;
+        this.received = new BufferedOutputStream(new FileOutputStream(receivedFile));
+        this.block = new byte[blockSize];
+        this.expected = new byte[blockSize];
+        if (approved == null) {
+            divergence = 0;
+        }
+    }
+
+    /**
+     * Verifies what {@code output} writes against the approved file of the
+     * calling test, named as {@link Approvals#verify(String)} would.
+     */
+    static void verify(Consumer<OutputStream> output) {
+        ApprovalNamer namer = Approvals.createApprovalNamer();
+        File approvedFile = namer.getApprovedFile(".txt");
+        File receivedFile = namer.getReceivedFile(".txt");
+
+        try {
+            StreamingApproval approval = new StreamingApproval(approvedFile, receivedFile, DEFAULT_BLOCK_SIZE);
+            try {
+                output.accept(approval);
+            } finally {
+                approval.close();
+            }
+            approval.verify();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (AssertionError e) {
+            Approvals.getReporter().report(receivedFile.getAbsolutePath(), approvedFile.getAbsolutePath());
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        received.write(b);
+        block[filled++] = (byte) b;
+        if (filled == block.length) {
+            compareBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        received.write(bytes, offset, length);
+        while (length > 0) {
+            int chunk = Math.min(length, block.length - filled);
+            System.arraycopy(bytes, offset, block, filled, chunk);
+            filled += chunk;
+            offset += chunk;
+            length -= chunk;
+            if (filled == block.length) {
+                compareBlock();
+            }
+        }
+    }
+
+    private void compareBlock() throws IOException {
+        if (divergence < 0) {
+            int length = readFully(approved, expected, filled);
+            int common = Math.min(length, filled);
+            int i = 0;
+            while (i < common && block[i] == expected[i]) {
+                i++;
+            }
+            if (i < common || length != filled) {
+                divergence = blockOffset + i;
+            }
+        }
+        blockOffset += filled;
+        filled = 0;
+    }
+
+    private static int readFully(InputStream in, byte[] bytes, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int n = in.read(bytes, read, length - read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        return read;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        received.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            compareBlock();
+            if (divergence < 0 && approved.read() >= 0) {
+                divergence = blockOffset;
+            }
+        } finally {
+            received.close();
+            if (approved != null) {
+                approved.close();
+            }
+        }
+    }
+
+    /**
+     * Passes and removes the received file when the whole output matched.
+     * Must be called after {@link #close()}.
+     */
+    void verify() throws IOException {
+        if (!closed) {
+            throw new IllegalStateException("Output not closed yet");
+        }
+        if (divergence < 0) {
+            if (!receivedFile.delete()) {
+                throw new IOException("Could not delete " + receivedFile);
+            }
+            return;
+        }
+        if (approved == null) {
+            throw new AssertionError("No approved file " + approvedFile + ", received output is in " + receivedFile);
+        }
+
+        Location actual = locate(receivedFile, divergence);
+        Location wanted = locate(approvedFile, divergence);
+        throw new AssertionError("Received output differs from " + approvedFile.getName() + " at line "
+                + actual.line + (actual.day >= 0 ? " (day " + actual.day + ")" : "") + "\n  approved: "
+                + wanted.text() + "\n  received: " + actual.text() + "\nReceived output is in " + receivedFile);
+    }
+
+    long divergence() {
+        return divergence;
+    }
+
+    /**
+     * The line containing byte {@code offset} and the report day it belongs
+     * to, found by streaming the file up to the end of that line.
+     */
+    static Location locate(File file, long offset) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int lineNumber = 1;
+        int day = -1;
+        long position = 0;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            for (int b = in.read(); b >= 0; b = in.read(), position++) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                day = dayOf(line.toByteArray(), day);
+                if (position >= offset) {
+                    return new Location(lineNumber, day, line.toString("UTF-8"));
+                }
+                lineNumber++;
+                line.reset();
+            }
+        }
+        day = dayOf(line.toByteArray(), day);
+        return new Location(lineNumber, day, offset < position ? line.toString("UTF-8") : null);
+    }
+
+    /**
+     * The day of a {@code -------- day N --------} header, or
+     * {@code current} for any other line.
+     */
+    private static int dayOf(byte[] line, int current) {
+        if (line.length <= DAY_PREFIX.length) {
+            return current;
+        }
+        for (int i = 0; i < DAY_PREFIX.length; i++) {
+            if (line[i] != DAY_PREFIX[i]) {
+                return current;
+            }
+        }
+        int day = 0;
+        int i = DAY_PREFIX.length;
+        for (; i < line.length && line[i] >= '0' && line[i] <= '9'; i++) {
+            day = day * 10 + line[i] - '0';
+        }
+        return i > DAY_PREFIX.length ? day : current;
+    }
+
+    static final class Location {
+
+        final int line;
+        final int day;
+        private final String text;
+
+        Location(int line, int day, String text) {
+            this.line = line;
+            this.day = day;
+            this.text = text;
+        }
+
+        String text() {
+            return text == null ? "<end of file>" : text.replace("\r", "");
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StreamingApprovalTest {
+
+    private static final int BLOCK_SIZE = 256;
+    private static final int DAYS = 400;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void matchingOutputPassesAndRemovesReceivedFile() throws IOException {
+        File approved = approved(report(DAYS));
+        File received = directory.resolve("received.txt").toFile();
+
+        StreamingApproval approval = new StreamingApproval(approved, received, BLOCK_SIZE);
+        Program.run(approval, DAYS);
+        approval.close();
+        approval.verify();
+
+        assertEquals(-1, approval.divergence());
+        assertFalse(received.exists());
+    }
+
+    @Test
+    public void reportsFirstDivergingDayAndLine() throws IOException {
+        byte[] report = report(DAYS);
+        String text = new String(report, StandardCharsets.UTF_8);
+        String day = "-------- day 321 --------";
+        int tampered = text.indexOf("Aged Brie", text.indexOf(day));
+        String changed = text.substring(0, tampered) + "Aged Cheese" + text.substring(tampered + "Aged Brie".length());
+        File approved = approved(changed.getBytes(StandardCharsets.UTF_8));
+        File received = directory.resolve("received.txt").toFile();
+
+        StreamingApproval approval = new StreamingApproval(approved, received, BLOCK_SIZE);
+        Program.run(approval, DAYS);
+        approval.close();
+        AssertionError failure = assertThrows(AssertionError.class, approval::verify);
+
+        int line = 1 + (int) text.substring(0, tampered).chars().filter(c -> c == '\n').count();
+        assertEquals(tampered + "Aged ".length(), approval.divergence());
+        assertTrue(failure.getMessage().contains("at line " + line + " (day 321)"), failure.getMessage());
+        assertTrue(failure.getMessage().contains("approved: Aged Cheese, "), failure.getMessage());
+        assertTrue(failure.getMessage().contains("received: Aged Brie, "), failure.getMessage());
+        assertTrue(received.exists());
+        assertEquals(report.length, received.length());
+    }
+
+    @Test
+    public void reportsOutputLongerThanApproved() throws IOException {
+        File approved = approved(report(10));
+        File received = directory.resolve("received.txt").toFile();
+
+        StreamingApproval approval = new StreamingApproval(approved, received, BLOCK_SIZE);
+        Program.run(approval, 11);
+        approval.close();
+        AssertionError failure = assertThrows(AssertionError.class, approval::verify);
+
+        assertEquals(approved.length(), approval.divergence());
+        assertTrue(failure.getMessage().contains("(day 11)"), failure.getMessage());
+        assertTrue(failure.getMessage().contains("approved: <end of file>"), failure.getMessage());
+    }
+
+    @Test
+    public void reportsMissingApprovedFile() throws IOException {
+        File approved = directory.resolve("approved.txt").toFile();
+        File received = directory.resolve("received.txt").toFile();
+
+        StreamingApproval approval = new StreamingApproval(approved, received, BLOCK_SIZE);
+        Program.run(approval, 1);
+        approval.close();
+        AssertionError failure = assertThrows(AssertionError.class, approval::verify);
+
+        assertTrue(failure.getMessage().startsWith("No approved file"), failure.getMessage());
+        assertTrue(received.exists());
+    }
+
+    private static byte[] report(int days) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Program.run(output, days);
+        return output.toByteArray();
+    }
+
+    private File approved(byte[] content) throws IOException {
+        File approved = directory.resolve("approved.txt").toFile();
+        try (OutputStream out = new FileOutputStream(approved)) {
+            out.write(content);
+        }
+        return approved;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.gildedrose;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.gildedrose.CategoryTick")
+@Label("Gilded Rose Category Tick")
+@Category("Gilded Rose")
+@Description("The items of one category within a tick; spans the whole tick")
+@Enabled(false)
+@StackTrace(false)
+class CategoryTickEvent extends Event {
+
+    @Label("Category")
+    String category;
+
+    @Label("Items")
+    long itemCount;
+
+    @Label("Changed Items")
+    long changedCount;
+}
@@ -0,0 +1,154 @@
+package com.gildedrose;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Emits a {@link TickEvent} per tick, and a {@link CategoryTickEvent} per
+ * category when that event is enabled in the recording settings. Items are
+ * counted in plain fields per tick range and added up when the range
+ * finishes. When no recording wants the events, items are not counted at
+ * all.
+ */
+public final class FlightRecorderTickListener implements TickListener {
+
+    private static final ItemCategory[] CATEGORIES = ItemCategory.values();
+
+    // Totals of the finished ranges of this tick, and spare range counts;
+    // guarded by totals
+    private final Counts totals = new Counts();
+    private final Deque<Counts> spare = new ArrayDeque<>();
+
+    private TickEvent tick;
+    private CategoryTickEvent[] categoryTicks;
+    private boolean counting;
+
+    @Override
+    public void tickStarted(int itemCount, int days) {
+        tick = new TickEvent();
+        categoryTicks = null;
+        CategoryTickEvent first = new CategoryTickEvent();
+        if (first.isEnabled()) {
+            categoryTicks = new CategoryTickEvent[CATEGORIES.length];
+            categoryTicks[0] = first;
+            for (int c = 1; c < CATEGORIES.length; c++) {
+                categoryTicks[c] = new CategoryTickEvent();
+            }
+        }
+
+        counting = tick.isEnabled() || categoryTicks != null;
+        synchronized (totals) {
+            totals.clear();
+        }
+
+        tick.begin();
+        if (categoryTicks != null) {
+            for (CategoryTickEvent event : categoryTicks) {
+                event.begin();
+            }
+        }
+    }
+
+    @Override
+    public TickListener rangeStarted(int from, int to) {
+        if (!counting) {
+            return this;
+        }
+        synchronized (totals) {
+            Counts counts = spare.poll();
+            return counts != null ? counts : new Counts();
+        }
+    }
+
+    /**
+     * Counts an item reported outside a range.
+     */
+    @Override
+    public void itemUpdated(int index, ItemCategory category, int oldSellIn, int oldQuality, int newSellIn,
+            int newQuality) {
+        if (counting) {
+            synchronized (totals) {
+                totals.itemUpdated(index, category, oldSellIn, oldQuality, newSellIn, newQuality);
+            }
+        }
+    }
+
+    @Override
+    public void rangeFinished(TickListener range, int from, int to) {
+        if (range == this) {
+            return;
+        }
+        Counts counts = (Counts) range;
+        synchronized (totals) {
+            totals.add(counts);
+            counts.clear();
+            spare.push(counts);
+        }
+    }
+
+    @Override
+    public void tickFinished(int itemCount, long durationNanos) {
+        TickEvent event = tick;
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            long changedCount = 0;
+            for (long count : totals.changed) {
+                changedCount += count;
+            }
+            event.itemCount = itemCount;
+            event.changedCount = changedCount;
+            event.commit();
+        }
+
+        if (categoryTicks != null) {
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                CategoryTickEvent categoryEvent = categoryTicks[c];
+                categoryEvent.end();
+                if (categoryEvent.shouldCommit()) {
+                    categoryEvent.category = CATEGORIES[c].name();
+                    categoryEvent.itemCount = totals.processed[c];
+                    categoryEvent.changedCount = totals.changed[c];
+                    categoryEvent.commit();
+                }
+            }
+        }
+        tick = null;
+        categoryTicks = null;
+    }
+
+    /**
+     * Items processed and changed per category.
+     */
+    private static final class Counts implements TickListener {
+
+        final long[] processed = new long[CATEGORIES.length];
+        final long[] changed = new long[CATEGORIES.length];
+
+        @Override
+        public void itemUpdated(int index, ItemCategory category, int oldSellIn, int oldQuality, int newSellIn,
+                int newQuality) {
+            processed[category.ordinal()]++;
+            if (oldSellIn != newSellIn || oldQuality != newQuality) {
+                changed[category.ordinal()]++;
+            }
+        }
+
+        void add(Counts counts) {
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                processed[c] += counts.processed[c];
+                changed[c] += counts.changed[c];
+            }
+        }
+
+        void clear() {
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                processed[c] = 0;
+                changed[c] = 0;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.gildedrose;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.gildedrose.Tick")
+@Label("Gilded Rose Tick")
+@Category("Gilded Rose")
+@Description("One day advanced over the whole inventory")
+@StackTrace(false)
+class TickEvent extends Event {
+
+    @Label("Items")
+    long itemCount;
+
+    @Label("Changed Items")
+    @Description("Items whose sellIn or quality changed")
+    long changedCount;
+}
@@ -0,0 +1,200 @@
+package com.gildedrose;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rolls the day of every shop at its own local day boundary, each shop
+ * waiting on its own virtual thread. A waiting shop costs little more than
+ * its parked thread, so hundreds of thousands can be scheduled at once.
+ * Ticks that fall due together are limited to {@code maxConcurrentTicks} at
+ * a time. Only {@link ReentrantLock} and {@link Semaphore} are used for
+ * coordination, never {@code synchronized}, so a blocked shop never pins its
+ * carrier thread.
+ * <p>
+ * Needs JDK 21; compiled only by the {@code loom} build profile.
+ */
+public final class VirtualThreadTickScheduler implements AutoCloseable {
+
+    /**
+     * Called after a shop has ticked, on that shop's thread.
+     */
+    public interface DayListener {
+
+        void dayRolled(Shop shop, int day);
+    }
+
+    /**
+     * How a shop waits for its next boundary; the scheduler reads the clock
+     * again after every wait.
+     */
+    interface Sleeper {
+
+        void sleep(Duration duration) throws InterruptedException;
+    }
+
+    // Longest sleep before the clock is read again, to follow clock changes
+    private static final Duration MAX_SLEEP = Duration.ofMinutes(1);
+
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final LocalTime dayBoundary;
+    private final Semaphore ticking;
+    private final DayListener listener;
+    private final ThreadFactory threads = Thread.ofVirtual().factory();
+    private final Set<Shop> shops = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadTickScheduler(DayListener listener) {
+        this(Clock.systemUTC(), LocalTime.MIDNIGHT, Runtime.getRuntime().availableProcessors(), listener);
+    }
+
+    public VirtualThreadTickScheduler(Clock clock, LocalTime dayBoundary, int maxConcurrentTicks,
+            DayListener listener) {
+        this(clock, Thread::sleep, dayBoundary, maxConcurrentTicks, listener);
+    }
+
+    VirtualThreadTickScheduler(Clock clock, Sleeper sleeper, LocalTime dayBoundary, int maxConcurrentTicks,
+            DayListener listener) {
+        if (maxConcurrentTicks < 1) {
+            throw new IllegalArgumentException("Concurrent ticks must be positive: " + maxConcurrentTicks);
+        }
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.dayBoundary = dayBoundary;
+        this.ticking = new Semaphore(maxConcurrentTicks);
+        this.listener = listener;
+    }
+
+    /**
+     * Ticks {@code engine} at every day boundary in {@code zone}, starting
+     * with the next one.
+     */
+    public Shop schedule(TickEngine engine, ZoneId zone) {
+        Shop shop = new Shop(engine, zone);
+        shops.add(shop);
+        shop.thread.start();
+        return shop;
+    }
+
+    public int scheduledShops() {
+        return shops.size();
+    }
+
+    ZonedDateTime nextBoundary(ZonedDateTime after) {
+        ZonedDateTime boundary = ZonedDateTime.of(after.toLocalDate(), dayBoundary, after.getZone());
+        if (!boundary.isAfter(after)) {
+            boundary = ZonedDateTime.of(after.toLocalDate().plusDays(1), dayBoundary, after.getZone());
+        }
+        return boundary;
+    }
+
+    /**
+     * Cancels every shop and waits for ticks in progress to finish.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        Shop[] cancelled = shops.toArray(new Shop[0]);
+        for (Shop shop : cancelled) {
+            shop.cancel();
+        }
+        for (Shop shop : cancelled) {
+            shop.thread.join();
+        }
+    }
+
+    public final class Shop implements Runnable {
+
+        private final TickEngine engine;
+        private final ZoneId zone;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Thread thread;
+        private volatile int day;
+
+        private Shop(TickEngine engine, ZoneId zone) {
+            this.engine = engine;
+            this.zone = zone;
+            this.thread = threads.newThread(this);
+        }
+
+        public TickEngine engine() {
+            return engine;
+        }
+
+        public ZoneId zone() {
+            return zone;
+        }
+
+        /**
+         * The number of days rolled so far.
+         */
+        public int day() {
+            return day;
+        }
+
+        /**
+         * Runs {@code action} while this shop is not ticking, e.g. to read
+         * or restock its inventory.
+         */
+        public void withInventory(Runnable action) {
+            lock.lock();
+            try {
+                action.run();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public void cancel() {
+            shops.remove(this);
+            thread.interrupt();
+        }
+
+        @Override
+        public void run() {
+            try {
+                ZonedDateTime next = nextBoundary(ZonedDateTime.now(clock.withZone(zone)));
+                while (!Thread.currentThread().isInterrupted()) {
+                    Duration wait = Duration.between(clock.instant(), next.toInstant());
+                    if (wait.compareTo(Duration.ZERO) > 0) {
+                        sleeper.sleep(wait.compareTo(MAX_SLEEP) < 0 ? wait : MAX_SLEEP);
+                        continue;
+                    }
+                    tick();
+                    next = nextBoundary(next);
+                }
+            } catch (InterruptedException e) {
+                // Cancelled
+            } finally {
+                shops.remove(this);
+            }
+        }
+
+        private void tick() throws InterruptedException {
+            int rolled;
+            ticking.acquire();
+            try {
+                lock.lock();
+                try {
+                    engine.updateQuality();
+                    rolled = ++day;
+                } finally {
+                    lock.unlock();
+                }
+            } finally {
+                ticking.release();
+            }
+            if (listener != null) {
+                listener.dayRolled(this, rolled);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.gildedrose;
+
+import static com.gildedrose.GildedRose.MAX_QUALITY;
+import static com.gildedrose.GildedRose.MIN_QUALITY;
+import static com.gildedrose.GildedRose.SULFURAS_QUALITY;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link TickKernel} on the incubating Vector API, updating as many items per
+ * instruction as the preferred species has lanes. The early exit at the
+ * quality bounds, expiry and the Backstage thresholds are lane masks; the
+ * leftover tail goes through the scalar kernel.
+ */
+final class VectorTickKernel implements TickKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private final TickKernel tail = TickKernels.scalar();
+
+    @Override
+    public void tick(ItemCategory category, int[] sellIn, int[] quality, int from, int to) {
+        int upperBound = from + SPECIES.loopBound(to - from);
+        int i = from;
+
+        switch (category) {
+            case SULFURAS:
+                i = consecrate(quality, i, upperBound);
+                break;
+            case AGED_BRIE:
+                i = appreciateAgedBrie(sellIn, quality, i, upperBound);
+                break;
+            case BACKSTAGE_PASSES:
+                i = appreciateBackstagePasses(sellIn, quality, i, upperBound);
+                break;
+            case CONJURED:
+                i = depreciate(sellIn, quality, i, upperBound, 2);
+                break;
+            default:
+                i = depreciate(sellIn, quality, i, upperBound, 1);
+                break;
+        }
+
+        tail.tick(category, sellIn, quality, i, to);
+    }
+
+    // One method per category, so that each loop is compiled with its own
+    // inlining budget; a vector operation left out of line allocates a box
+
+    private static int consecrate(int[] quality, int i, int upperBound) {
+        IntVector legendary = IntVector.broadcast(SPECIES, SULFURAS_QUALITY);
+        for (; i < upperBound; i += SPECIES.length()) {
+            legendary.intoArray(quality, i);
+        }
+        return i;
+    }
+
+    private static int appreciateAgedBrie(int[] sellIn, int[] quality, int i, int upperBound) {
+        for (; i < upperBound; i += SPECIES.length()) {
+            IntVector q = IntVector.fromArray(SPECIES, quality, i);
+            q.blend(q.add(1).min(MAX_QUALITY), inBounds(q)).intoArray(quality, i);
+            decreaseSellIn(sellIn, i);
+        }
+        return i;
+    }
+
+    private static int appreciateBackstagePasses(int[] sellIn, int[] quality, int i, int upperBound) {
+        for (; i < upperBound; i += SPECIES.length()) {
+            IntVector q = IntVector.fromArray(SPECIES, quality, i);
+            IntVector s = IntVector.fromArray(SPECIES, sellIn, i);
+            IntVector rate = IntVector.broadcast(SPECIES, 1)
+                    .blend(2, s.compare(VectorOperators.LE, 10))
+                    .blend(3, s.compare(VectorOperators.LE, 5));
+            IntVector appreciated = q.add(rate).min(MAX_QUALITY)
+                    .blend(MIN_QUALITY, s.compare(VectorOperators.LE, 0));
+            q.blend(appreciated, inBounds(q)).intoArray(quality, i);
+            s.sub(1).intoArray(sellIn, i);
+        }
+        return i;
+    }
+
+    private static VectorMask<Integer> inBounds(IntVector quality) {
+        return quality.compare(VectorOperators.GT, MIN_QUALITY).and(quality.compare(VectorOperators.LT, MAX_QUALITY));
+    }
+
+    private static void decreaseSellIn(int[] sellIn, int i) {
+        IntVector.fromArray(SPECIES, sellIn, i).sub(1).intoArray(sellIn, i);
+    }
+
+    private static int depreciate(int[] sellIn, int[] quality, int i, int upperBound, int factor) {
+        for (; i < upperBound; i += SPECIES.length()) {
+            IntVector q = IntVector.fromArray(SPECIES, quality, i);
+            IntVector s = IntVector.fromArray(SPECIES, sellIn, i);
+            IntVector rate = IntVector.broadcast(SPECIES, factor)
+                    .blend(2 * factor, s.compare(VectorOperators.LE, 0));
+            q.blend(q.sub(rate).max(MIN_QUALITY), inBounds(q)).intoArray(quality, i);
+            s.sub(1).intoArray(sellIn, i);
+        }
+        return i;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.gildedrose;
+
+/**
+ * Tick engine that regroups the inventory into one contiguous block per
+ * {@link ItemRule}, so each rule updates its whole block in a single call
+ * without any per-item dispatch. The original item order is kept for
+ * {@link #copyTo(Item[])}.
+ */
+class BlockedGildedRose implements TickEngine {
+
+    private final ItemRule[] rules;
+    final int[] sellIn;
+    final int[] quality;
+    final int[] originalIndex;
+    final int[] blockStart;
+
+    public BlockedGildedRose(Item[] items) {
+        this(items, ItemRuleRegistry.withBuiltInRules());
+    }
+
+    public BlockedGildedRose(Item[] items, TickKernel kernel) {
+        this(items, ItemRuleRegistry.withBuiltInRules(kernel));
+    }
+
+    public BlockedGildedRose(Item[] items, ItemRuleRegistry registry) {
+        this.rules = new ItemRule[registry.size()];
+        for (int r = 0; r < rules.length; r++) {
+            rules[r] = registry.rule(r);
+        }
+        this.sellIn = new int[items.length];
+        this.quality = new int[items.length];
+        this.originalIndex = new int[items.length];
+        this.blockStart = new int[rules.length + 1];
+
+        int[] ruleIds = new int[items.length];
+        for (int i = 0; i < items.length; i++) {
+            ruleIds[i] = registry.ruleIdOf(items[i].name);
+            blockStart[ruleIds[i] + 1]++;
+        }
+        for (int r = 0; r < rules.length; r++) {
+            blockStart[r + 1] += blockStart[r];
+        }
+
+        int[] next = new int[rules.length];
+        System.arraycopy(blockStart, 0, next, 0, rules.length);
+        for (int i = 0; i < items.length; i++) {
+            int position = next[ruleIds[i]]++;
+            sellIn[position] = items[i].sellIn;
+            quality[position] = items[i].quality;
+            originalIndex[position] = i;
+        }
+    }
+
+    @Override
+    public int size() {
+        return sellIn.length;
+    }
+
+    /**
+     * Ranges are positions in the regrouped arrays; a range crossing a block
+     * boundary is split into one call per rule.
+     */
+    @Override
+    public void updateQuality(int from, int to) {
+        for (int r = 0; r < rules.length; r++) {
+            int blockFrom = Math.max(from, blockStart[r]);
+            int blockTo = Math.min(to, blockStart[r + 1]);
+            if (blockFrom < blockTo) {
+                rules[r].tick(sellIn, quality, blockFrom, blockTo);
+            }
+        }
+    }
+
+    public void copyTo(Item[] items) {
+        if (items.length != sellIn.length) {
+            throw new IllegalArgumentException("Expected " + sellIn.length + " items but got " + items.length);
+        }
+        for (int position = 0; position < sellIn.length; position++) {
+            Item item = items[originalIndex[position]];
+            item.sellIn = sellIn[position];
+            item.quality = quality[position];
+        }
+    }
+
+}
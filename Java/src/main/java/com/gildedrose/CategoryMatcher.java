@@ -0,0 +1,119 @@
+package com.gildedrose;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Resolves an item name to its {@link ItemCategory} from exact names and
+ * name prefixes, e.g. every {@code "Conjured ..."} item is conjured. The
+ * patterns are compiled into a byte-level {@link NameTrie} over UTF-8, so a
+ * lookup is one walk over the name, picking an exact match first and the
+ * longest matching prefix otherwise. Recent String lookups are kept in a
+ * small bounded cache. Lookups allocate nothing, whether they hit the cache
+ * or not.
+ */
+public final class CategoryMatcher {
+
+    private static final CategoryMatcher STANDARD = builder()
+            .exact(GildedRose.AGED_BRIE, ItemCategory.AGED_BRIE)
+            .exact(GildedRose.SULFURAS_HAND_HAGNAROS, ItemCategory.SULFURAS)
+            .prefix("Sulfuras, ", ItemCategory.SULFURAS)
+            .exact(GildedRose.BACKSTAGE_PASSES, ItemCategory.BACKSTAGE_PASSES)
+            .prefix("Backstage passes to ", ItemCategory.BACKSTAGE_PASSES)
+            .exact(GildedRose.CONJURED, ItemCategory.CONJURED)
+            .prefix(GildedRose.CONJURED + " ", ItemCategory.CONJURED)
+            .build();
+
+    private final NameTrie trie;
+
+    // Cache slots: the name, and a stamp holding the category and a write
+    // count, odd while a writer fills the slot
+    private static final int WRITING = 1;
+    private static final int CATEGORY_SHIFT = 1;
+    private static final int CATEGORY_MASK = 0x7;
+    private static final int COUNT_UNIT = 1 << 4;
+
+    private final AtomicReferenceArray<String> cachedNames;
+    private final AtomicIntegerArray stamps;
+    private final int cacheMask;
+
+    private CategoryMatcher(NameTrie trie, int cacheSize) {
+        this.trie = trie;
+        this.cachedNames = new AtomicReferenceArray<>(cacheSize);
+        this.stamps = new AtomicIntegerArray(cacheSize);
+        this.cacheMask = cacheSize - 1;
+    }
+
+    /**
+     * The Gilded Rose categories: {@code "Aged Brie"}, anything starting with
+     * {@code "Sulfuras, "} or {@code "Backstage passes to "}, and
+     * {@code "Conjured"} on its own or followed by a space.
+     */
+    public static CategoryMatcher standard() {
+        return STANDARD;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ItemCategory match(String name) {
+        int slot = name.hashCode() & cacheMask;
+        int stamp = stamps.get(slot);
+        if ((stamp & WRITING) == 0 && name.equals(cachedNames.get(slot)) && stamps.get(slot) == stamp) {
+            return ItemCategory.ofOrdinal(stamp >>> CATEGORY_SHIFT & CATEGORY_MASK);
+        }
+
+        ItemCategory category = categoryOf(trie.match(name));
+        // A slot another thread is filling is left to it
+        if ((stamp & WRITING) == 0 && stamps.compareAndSet(slot, stamp, stamp | WRITING)) {
+            cachedNames.lazySet(slot, name);
+            stamps.lazySet(slot, (stamp & -COUNT_UNIT) + COUNT_UNIT | category.ordinal() << CATEGORY_SHIFT);
+        }
+        return category;
+    }
+
+    public ItemCategory match(byte[] utf8, int from, int to) {
+        return categoryOf(trie.match(utf8, from, to));
+    }
+
+    private static ItemCategory categoryOf(int ordinal) {
+        return ordinal == NameTrie.NONE ? ItemCategory.NORMAL : ItemCategory.ofOrdinal(ordinal);
+    }
+
+    public static final class Builder {
+
+        private final NameTrie.Builder trie = new NameTrie.Builder();
+        private int cacheSize = 4096;
+
+        private Builder() {
+        }
+
+        public Builder exact(String name, ItemCategory category) {
+            trie.exact(name, category.ordinal());
+            return this;
+        }
+
+        public Builder prefix(String prefix, ItemCategory category) {
+            trie.prefix(prefix, category.ordinal());
+            return this;
+        }
+
+        /**
+         * @param cacheSize number of recent lookups kept, rounded up to a
+         *                  power of two
+         */
+        public Builder cacheSize(int cacheSize) {
+            if (cacheSize < 1 || cacheSize > 1 << 30) {
+                throw new IllegalArgumentException("Cache size out of range: " + cacheSize);
+            }
+            this.cacheSize = cacheSize == 1 ? 1 : Integer.highestOneBit(cacheSize - 1) << 1;
+            return this;
+        }
+
+        public CategoryMatcher build() {
+            return new CategoryMatcher(trie.build(), cacheSize);
+        }
+    }
+
+}
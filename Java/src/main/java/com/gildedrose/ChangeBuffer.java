@@ -0,0 +1,254 @@
+package com.gildedrose;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Captures the items changed by each tick as compact records in one reused
+ * {@code int[]}, for consumers that need to know what changed. Attach it with
+ * {@link GildedRose#setTickListener(TickListener)} and {@link #drain} it
+ * after every tick; unchanged items are not recorded. Room for the whole
+ * inventory is reserved when a tick starts, and each range of a tick claims
+ * a block of it with a single atomic add, so workers of a
+ * {@link ParallelTick} write their records without any shared state per
+ * item. The changes of a range are recorded together, in index order.
+ * Nothing is allocated once the buffer has grown to the inventory size.
+ */
+public class ChangeBuffer implements TickListener {
+
+    public static final int EXPIRED = 1;
+    public static final int HIT_ZERO = 2;
+    public static final int HIT_MAX = 4;
+
+    /**
+     * Receives a batch of records {@code [from, to)}; read them through the
+     * accessors of the buffer before returning.
+     */
+    public interface Consumer {
+
+        void changes(ChangeBuffer buffer, int from, int to);
+    }
+
+    private static final int INDEX = 0;
+    private static final int CATEGORY_AND_FLAGS = 1;
+    private static final int OLD_SELL_IN = 2;
+    private static final int NEW_SELL_IN = 3;
+    private static final int OLD_QUALITY = 4;
+    private static final int NEW_QUALITY = 5;
+    private static final int RECORD_SIZE = 6;
+
+    private static final ItemCategory[] CATEGORIES = ItemCategory.values();
+
+    private int[] records = new int[0];
+    private final AtomicInteger size = new AtomicInteger();
+
+    // Unused ends of range blocks, as (start, length) pairs in records,
+    // closed up when the tick finishes; guarded by spare, like the spare
+    // range writers
+    private int[] gaps = new int[16];
+    private int gapCount;
+    private final Deque<Range> spare = new ArrayDeque<>();
+
+    /**
+     * The transitions of an item from its old to its new state, as a
+     * combination of {@link #EXPIRED}, {@link #HIT_ZERO} and {@link #HIT_MAX}.
+     */
+    public static int transitions(int oldSellIn, int oldQuality, int newSellIn, int newQuality) {
+        int flags = 0;
+        if (oldSellIn > 0 && newSellIn <= 0) {
+            flags |= EXPIRED;
+        }
+        if (oldQuality > GildedRose.MIN_QUALITY && newQuality == GildedRose.MIN_QUALITY) {
+            flags |= HIT_ZERO;
+        }
+        if (oldQuality < GildedRose.MAX_QUALITY && newQuality == GildedRose.MAX_QUALITY) {
+            flags |= HIT_MAX;
+        }
+        return flags;
+    }
+
+    @Override
+    public void tickStarted(int itemCount, int days) {
+        long required = ((long) size.get() + itemCount) * RECORD_SIZE;
+        if (required > records.length) {
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Too many pending changes; drain the buffer after every tick");
+            }
+            records = Arrays.copyOf(records, (int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max(required, (long) records.length * 2)));
+        }
+    }
+
+    /**
+     * Claims a block of one record per item of the range.
+     */
+    @Override
+    public TickListener rangeStarted(int from, int to) {
+        Range range;
+        synchronized (spare) {
+            range = spare.poll();
+        }
+        if (range == null) {
+            range = new Range();
+        }
+        range.next = size.getAndAdd(to - from);
+        range.end = range.next + to - from;
+        return range;
+    }
+
+    /**
+     * Gives the unused end of the block back if no block was claimed after
+     * it, and leaves it as a gap to close when the tick finishes otherwise.
+     */
+    @Override
+    public void rangeFinished(TickListener listener, int from, int to) {
+        Range range = (Range) listener;
+        synchronized (spare) {
+            if (range.next < range.end && !size.compareAndSet(range.end, range.next)) {
+                if (gapCount * 2 == gaps.length) {
+                    gaps = Arrays.copyOf(gaps, gaps.length * 2);
+                }
+                gaps[gapCount * 2] = range.next;
+                gaps[gapCount * 2 + 1] = range.end - range.next;
+                gapCount++;
+            }
+            spare.push(range);
+        }
+    }
+
+    /**
+     * Records an item reported outside a range.
+     */
+    @Override
+    public void itemUpdated(int index, ItemCategory category, int oldSellIn, int oldQuality, int newSellIn,
+            int newQuality) {
+        if (oldSellIn != newSellIn || oldQuality != newQuality) {
+            record(size.getAndIncrement(), index, category, oldSellIn, oldQuality, newSellIn, newQuality);
+        }
+    }
+
+    @Override
+    public void tickFinished(int itemCount, long durationNanos) {
+        synchronized (spare) {
+            closeGaps();
+        }
+    }
+
+    private void record(int change, int index, ItemCategory category, int oldSellIn, int oldQuality, int newSellIn,
+            int newQuality) {
+        int record = change * RECORD_SIZE;
+        records[record + INDEX] = index;
+        records[record + CATEGORY_AND_FLAGS] = category.ordinal() << 8
+                | transitions(oldSellIn, oldQuality, newSellIn, newQuality);
+        records[record + OLD_SELL_IN] = oldSellIn;
+        records[record + NEW_SELL_IN] = newSellIn;
+        records[record + OLD_QUALITY] = oldQuality;
+        records[record + NEW_QUALITY] = newQuality;
+    }
+
+    /**
+     * Moves the records after each gap down over it, in one pass from the
+     * first gap.
+     */
+    private void closeGaps() {
+        if (gapCount == 0) {
+            return;
+        }
+        // Insertion sort by start; there are only a few gaps per range
+        for (int g = 1; g < gapCount; g++) {
+            int start = gaps[g * 2];
+            int length = gaps[g * 2 + 1];
+            int h = g - 1;
+            for (; h >= 0 && gaps[h * 2] > start; h--) {
+                gaps[h * 2 + 2] = gaps[h * 2];
+                gaps[h * 2 + 3] = gaps[h * 2 + 1];
+            }
+            gaps[h * 2 + 2] = start;
+            gaps[h * 2 + 3] = length;
+        }
+
+        int write = gaps[0];
+        for (int g = 0; g < gapCount; g++) {
+            int from = gaps[g * 2] + gaps[g * 2 + 1];
+            int to = g + 1 < gapCount ? gaps[g * 2 + 2] : size.get();
+            System.arraycopy(records, from * RECORD_SIZE, records, write * RECORD_SIZE, (to - from) * RECORD_SIZE);
+            write += to - from;
+        }
+        size.set(write);
+        gapCount = 0;
+    }
+
+    /**
+     * Writes the changes of one range into its block.
+     */
+    private final class Range implements TickListener {
+
+        int next;
+        int end;
+
+        @Override
+        public void itemUpdated(int index, ItemCategory category, int oldSellIn, int oldQuality, int newSellIn,
+                int newQuality) {
+            if (oldSellIn != newSellIn || oldQuality != newQuality) {
+                record(next++, index, category, oldSellIn, oldQuality, newSellIn, newQuality);
+            }
+        }
+    }
+
+    /**
+     * The number of changes recorded since the last drain.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Hands every recorded change to {@code consumer} in batches of at most
+     * {@code batchSize}, then empties the buffer. Must not be called while a
+     * tick is running.
+     *
+     * @return the number of changes drained
+     */
+    public int drain(Consumer consumer, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        int count = size.get();
+        for (int from = 0; from < count; from += batchSize) {
+            consumer.changes(this, from, Math.min(count, from + batchSize));
+        }
+        size.set(0);
+        return count;
+    }
+
+    public int index(int change) {
+        return records[change * RECORD_SIZE + INDEX];
+    }
+
+    public ItemCategory category(int change) {
+        return CATEGORIES[records[change * RECORD_SIZE + CATEGORY_AND_FLAGS] >>> 8];
+    }
+
+    public int transitions(int change) {
+        return records[change * RECORD_SIZE + CATEGORY_AND_FLAGS] & 0xFF;
+    }
+
+    public int oldSellIn(int change) {
+        return records[change * RECORD_SIZE + OLD_SELL_IN];
+    }
+
+    public int newSellIn(int change) {
+        return records[change * RECORD_SIZE + NEW_SELL_IN];
+    }
+
+    public int oldQuality(int change) {
+        return records[change * RECORD_SIZE + OLD_QUALITY];
+    }
+
+    public int newQuality(int change) {
+        return records[change * RECORD_SIZE + NEW_QUALITY];
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.gildedrose;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The name, sellIn and quality columns of a {@link ColumnarInventory} as they
+ * were when captured, kept by copy-on-write of fixed-size pages. Taking the
+ * capture only sets up one state per page. Before a tick or
+ * {@link ColumnarInventory#set} first writes to a page, the writer copies
+ * that page aside; {@link #copyTo} copies the pages nobody wrote straight
+ * from the inventory. Each page is copied once, by whichever thread gets to
+ * it first, and the inventory drops the capture once every page is copied.
+ */
+final class ColumnarCapture {
+
+    static final int PAGE_SHIFT = 12;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    private static final int UNTOUCHED = 0;
+    private static final int COPYING = 1;
+    private static final int COPIED = 2;
+
+    private final ColumnarInventory inventory;
+    private final int settledDays;
+    private final int size;
+    private final AtomicIntegerArray states;
+    private final AtomicInteger remaining;
+
+    // Pages copied aside by writers
+    private final String[][] namePages;
+    private final int[][] sellInPages;
+    private final int[][] qualityPages;
+
+    ColumnarCapture(ColumnarInventory inventory) {
+        this.inventory = inventory;
+        this.settledDays = inventory.settledDays;
+        this.size = inventory.size();
+        int pages = (size + PAGE_SIZE - 1) >>> PAGE_SHIFT;
+        this.states = new AtomicIntegerArray(pages);
+        this.remaining = new AtomicInteger(pages);
+        this.namePages = new String[pages][];
+        this.sellInPages = new int[pages][];
+        this.qualityPages = new int[pages][];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isComplete() {
+        return remaining.get() == 0;
+    }
+
+    /**
+     * Keeps the captured page of item {@code index}; called before the item
+     * is written.
+     */
+    void beforeWrite(int index) {
+        int page = index >>> PAGE_SHIFT;
+        if (states.get(page) != COPIED) {
+            copyAside(page);
+        }
+    }
+
+    /**
+     * Copies aside every page not copied yet.
+     */
+    void complete() {
+        for (int page = 0; page < namePages.length; page++) {
+            if (states.get(page) != COPIED) {
+                copyAside(page);
+            }
+        }
+    }
+
+    private void copyAside(int page) {
+        if (claim(page)) {
+            int length = pageLength(page);
+            namePages[page] = new String[length];
+            sellInPages[page] = new int[length];
+            qualityPages[page] = new int[length];
+            copyPage(page, namePages[page], sellInPages[page], qualityPages[page], 0);
+            release(page);
+        }
+    }
+
+    /**
+     * Copies the captured columns into the given arrays. May run on any
+     * thread while ticks go on.
+     */
+    void copyTo(String[] names, int[] sellIn, int[] quality) {
+        for (int page = 0; page < namePages.length; page++) {
+            int from = page << PAGE_SHIFT;
+            if (claim(page)) {
+                copyPage(page, names, sellIn, quality, from);
+                release(page);
+            } else {
+                int length = pageLength(page);
+                System.arraycopy(namePages[page], 0, names, from, length);
+                System.arraycopy(sellInPages[page], 0, sellIn, from, length);
+                System.arraycopy(qualityPages[page], 0, quality, from, length);
+            }
+        }
+    }
+
+    private int pageLength(int page) {
+        return Math.min(PAGE_SIZE, size - (page << PAGE_SHIFT));
+    }
+
+    /**
+     * Claims an untouched page for copying, or waits until the thread that
+     * claimed it has copied it.
+     */
+    private boolean claim(int page) {
+        if (states.compareAndSet(page, UNTOUCHED, COPYING)) {
+            return true;
+        }
+        while (states.get(page) != COPIED) {
+            Thread.yield();
+        }
+        return false;
+    }
+
+    private void release(int page) {
+        states.set(page, COPIED);
+        if (remaining.decrementAndGet() == 0) {
+            inventory.release(this);
+        }
+    }
+
+    /**
+     * Copies an unwritten page, with settled sellIn taken against the day
+     * counter of the capture.
+     */
+    private void copyPage(int page, String[] names, int[] sellIn, int[] quality, int offset) {
+        int from = page << PAGE_SHIFT;
+        int length = pageLength(page);
+        System.arraycopy(inventory.names, from, names, offset, length);
+        System.arraycopy(inventory.quality, from, quality, offset, length);
+        for (int i = 0; i < length; i++) {
+            int index = from + i;
+            int stored = inventory.sellIn[index];
+            boolean aging = inventory.settled[index] && inventory.categories[index] != QualityRules.SULFURAS;
+            sellIn[offset + i] = aging ? stored - settledDays : stored;
+        }
+    }
+
+}
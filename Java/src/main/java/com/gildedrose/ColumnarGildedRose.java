@@ -0,0 +1,101 @@
+package com.gildedrose;
+
+/**
+ * Tick engine over a {@link ColumnarInventory}, following the same rules as
+ * {@link GildedRose#updateQuality()}.
+ */
+class ColumnarGildedRose implements TickEngine {
+
+    final ColumnarInventory inventory;
+
+    public ColumnarGildedRose(ColumnarInventory inventory) {
+        this.inventory = inventory;
+    }
+
+    /**
+     * The number of live items; ranges passed to
+     * {@link #updateQuality(int, int)} are positions in the live list.
+     */
+    @Override
+    public int size() {
+        return inventory.liveCount;
+    }
+
+    @Override
+    public void updateQuality() {
+        beginTick();
+        updateQuality(0, inventory.liveCount);
+        endTick();
+    }
+
+    @Override
+    public void updateQuality(int from, int to) {
+        final int[] live = inventory.live;
+        final boolean[] settled = inventory.settled;
+        final byte[] categories = inventory.categories;
+        final int[] sellIns = inventory.sellIn;
+        final int[] qualities = inventory.quality;
+        final ColumnarCapture capture = inventory.pendingCapture();
+
+        for (int p = from; p < to; p++) {
+            int i = live[p];
+            if (settled[i]) {
+                continue;
+            }
+            if (capture != null) {
+                capture.beforeWrite(i);
+            }
+
+            byte category = categories[i];
+            int sellIn = sellIns[i];
+            int quality = QualityRules.nextQuality(category, sellIn, qualities[i]);
+            qualities[i] = quality;
+
+            if (QualityRules.isSettled(category, quality)) {
+                // Stored against the settled day counter before endTick() advances it
+                inventory.settle(i, sellIn);
+            } else {
+                sellIns[i] = sellIn - 1;
+            }
+        }
+    }
+
+    /**
+     * Ages the settled partition by one day and drops newly settled items
+     * from the live list.
+     */
+    @Override
+    public void endTick() {
+        inventory.settledDays++;
+        inventory.removeSettledFromLive();
+    }
+
+    public void updateQuality(int days) {
+        DayAdvance.checkDays(days);
+        final int[] live = inventory.live;
+        final byte[] categories = inventory.categories;
+        final int[] sellIns = inventory.sellIn;
+        final int[] qualities = inventory.quality;
+        final ColumnarCapture capture = inventory.pendingCapture();
+
+        inventory.settledDays += days;
+        for (int p = 0; p < inventory.liveCount; p++) {
+            int i = live[p];
+            if (capture != null) {
+                capture.beforeWrite(i);
+            }
+            ItemCategory category = ItemCategory.ofOrdinal(categories[i]);
+            int quality = DayAdvance.quality(category, sellIns[i], qualities[i], days);
+            int sellIn = DayAdvance.sellIn(category, sellIns[i], days);
+
+            qualities[i] = quality;
+            if (QualityRules.isSettled(categories[i], quality)) {
+                inventory.settle(i, sellIn);
+            } else {
+                sellIns[i] = sellIn;
+            }
+        }
+        inventory.removeSettledFromLive();
+    }
+
+}
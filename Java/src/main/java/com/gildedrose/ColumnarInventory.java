@@ -0,0 +1,173 @@
+package com.gildedrose;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Inventory kept as parallel primitive arrays instead of an {@code Item[]}, so
+ * a tick walks contiguous memory rather than chasing one object per item.
+ * <p>
+ * Items whose quality can no longer change are <em>settled</em>: they leave
+ * the list of live items a tick walks. A settled item's sellIn is stored
+ * relative to {@link #settledDays}, a single day counter for the whole
+ * settled partition, so it keeps aging without being touched. Always read
+ * sellIn through {@link #sellIn(int)}.
+ * <p>
+ * Every write to the name, sellIn, quality or settled columns of an item
+ * must first pass a pending {@link ColumnarCapture} the index, so that the
+ * capture can keep the page.
+ */
+public class ColumnarInventory {
+
+    final String[] names;
+    final byte[] categories;
+    final int[] sellIn;
+    final int[] quality;
+
+    final boolean[] settled;
+    final int[] live;
+    int liveCount;
+    int settledDays;
+
+    private final AtomicReference<ColumnarCapture> capture = new AtomicReference<>();
+
+    public ColumnarInventory(int size) {
+        this.names = new String[size];
+        this.categories = new byte[size];
+        this.sellIn = new int[size];
+        this.quality = new int[size];
+        this.settled = new boolean[size];
+        this.live = new int[size];
+        for (int i = 0; i < size; i++) {
+            live[i] = i;
+        }
+        this.liveCount = size;
+    }
+
+    public static ColumnarInventory fromItems(Item[] items) {
+        ColumnarInventory inventory = new ColumnarInventory(items.length);
+        for (int i = 0; i < items.length; i++) {
+            inventory.set(i, items[i].name, items[i].sellIn, items[i].quality);
+        }
+        return inventory;
+    }
+
+    public Item[] toItems() {
+        Item[] items = new Item[size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(names[i], sellIn(i), quality[i]);
+        }
+        return items;
+    }
+
+    public void copyTo(Item[] items) {
+        if (items.length != size()) {
+            throw new IllegalArgumentException("Expected " + size() + " items but got " + items.length);
+        }
+        for (int i = 0; i < items.length; i++) {
+            items[i].name = names[i];
+            items[i].sellIn = sellIn(i);
+            items[i].quality = quality[i];
+        }
+    }
+
+    /**
+     * Stores an item, bringing it back to life if its slot was settled. Not
+     * to be called while a tick is running.
+     */
+    public void set(int index, String name, int sellIn, int quality) {
+        ColumnarCapture pending = capture.get();
+        if (pending != null) {
+            pending.beforeWrite(index);
+        }
+        this.names[index] = name;
+        this.categories[index] = (byte) ItemCategory.of(name).ordinal();
+        this.sellIn[index] = sellIn;
+        this.quality[index] = quality;
+
+        if (settled[index]) {
+            settled[index] = false;
+            live[liveCount++] = index;
+        }
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Captures the name, sellIn and quality columns as they are now, in time
+     * proportional to the number of pages rather than items; take it between
+     * ticks. A capture still pending is completed first.
+     */
+    ColumnarCapture capture() {
+        ColumnarCapture pending = capture.get();
+        if (pending != null) {
+            pending.complete();
+        }
+        ColumnarCapture taken = new ColumnarCapture(this);
+        if (!taken.isComplete()) {
+            capture.set(taken);
+        }
+        return taken;
+    }
+
+    /**
+     * The capture that writers must keep pages for, or {@code null}. It only
+     * changes between ticks, so a tick may read it once per range.
+     */
+    ColumnarCapture pendingCapture() {
+        return capture.get();
+    }
+
+    void release(ColumnarCapture complete) {
+        capture.compareAndSet(complete, null);
+    }
+
+    public int liveCount() {
+        return liveCount;
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public ItemCategory category(int index) {
+        return ItemCategory.ofOrdinal(categories[index]);
+    }
+
+    public int sellIn(int index) {
+        if (settled[index] && categories[index] != QualityRules.SULFURAS) {
+            return sellIn[index] - settledDays;
+        }
+        return sellIn[index];
+    }
+
+    public int quality(int index) {
+        return quality[index];
+    }
+
+    public boolean isSettled(int index) {
+        return settled[index];
+    }
+
+    /**
+     * Moves an item to the settled partition, given its current sellIn.
+     * Sulfuras never ages, so its sellIn is kept as is.
+     */
+    void settle(int index, int currentSellIn) {
+        settled[index] = true;
+        sellIn[index] = categories[index] == QualityRules.SULFURAS ? currentSellIn : currentSellIn + settledDays;
+    }
+
+    void removeSettledFromLive() {
+        int kept = 0;
+        for (int p = 0; p < liveCount; p++) {
+            int index = live[p];
+            if (!settled[index]) {
+                live[kept++] = index;
+            }
+        }
+        liveCount = kept;
+    }
+
+}
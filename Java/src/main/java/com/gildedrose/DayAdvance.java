@@ -0,0 +1,87 @@
+package com.gildedrose;
+
+import static com.gildedrose.GildedRose.MAX_QUALITY;
+import static com.gildedrose.GildedRose.MIN_QUALITY;
+import static com.gildedrose.GildedRose.SULFURAS_QUALITY;
+
+/**
+ * Closed-form equivalent of calling {@link GildedRose#updateQuality()} a
+ * number of days in a row, computed per item in constant time.
+ */
+final class DayAdvance {
+
+    private DayAdvance() {
+    }
+
+    static void checkDays(int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("Cannot advance a negative number of days: " + days);
+        }
+    }
+
+    static int sellIn(ItemCategory category, int sellIn, int days) {
+        return category == ItemCategory.SULFURAS ? sellIn : sellIn - days;
+    }
+
+    static int quality(ItemCategory category, int sellIn, int quality, int days) {
+        if (days == 0) {
+            return quality;
+        }
+        if (category == ItemCategory.SULFURAS) {
+            return SULFURAS_QUALITY;
+        }
+        // Items at or beyond a bound are never touched again
+        if (quality <= MIN_QUALITY || quality >= MAX_QUALITY) {
+            return quality;
+        }
+
+        switch (category) {
+            case AGED_BRIE:
+                return (int) Math.min(MAX_QUALITY, (long) quality + days);
+            case BACKSTAGE_PASSES:
+                return backstagePassesQuality(sellIn, quality, days);
+            case CONJURED:
+                return depreciatedQuality(sellIn, quality, days, 2);
+            default:
+                return depreciatedQuality(sellIn, quality, days, 1);
+        }
+    }
+
+    private static int daysBeforeSellIn(int sellIn, int days) {
+        return Math.min(days, Math.max(sellIn, 0));
+    }
+
+    private static int depreciatedQuality(int sellIn, int quality, int days, int factor) {
+        long freshDays = daysBeforeSellIn(sellIn, days);
+        long expiredDays = days - freshDays;
+        long depreciation = factor * freshDays + 2L * factor * expiredDays;
+        return (int) Math.max(MIN_QUALITY, quality - depreciation);
+    }
+
+    private static int backstagePassesQuality(int sellIn, int quality, int days) {
+        long appreciation = daysWithSellInBetween(sellIn, days, 11, Integer.MAX_VALUE)
+                + 2 * daysWithSellInBetween(sellIn, days, 6, 10)
+                + 3 * daysWithSellInBetween(sellIn, days, 1, 5);
+
+        // Once at the maximum the pass is frozen, even past the concert
+        if (quality + appreciation >= MAX_QUALITY) {
+            return MAX_QUALITY;
+        }
+        if (daysBeforeSellIn(sellIn, days) < days) {
+            return MIN_QUALITY;
+        }
+        return (int) (quality + appreciation);
+    }
+
+    /**
+     * Counts the days {@code d} in {@code [0, days)} on which the item is
+     * updated with a sellIn of {@code sellIn - d} between {@code low} and
+     * {@code high}, inclusive.
+     */
+    private static long daysWithSellInBetween(int sellIn, int days, int low, int high) {
+        long first = Math.max(0L, (long) sellIn - high);
+        long last = Math.min(days - 1L, (long) sellIn - low);
+        return Math.max(0L, last - first + 1);
+    }
+
+}
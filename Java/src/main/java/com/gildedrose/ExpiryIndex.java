@@ -0,0 +1,289 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Finds the items of a {@link GildedRose} by sellIn without scanning the
+ * inventory. Every item but Sulfuras loses one sellIn a day, so an item is
+ * filed under its expiry day, {@code day + sellIn}, which never changes; a
+ * tick only moves the current day. Items expiring within the next
+ * {@code window} days sit in a ring of per-day buckets, expired items in one
+ * bucket per category and later ones in overflow buckets that join the ring
+ * as it reaches them, so a tick costs constant time amortised.
+ * <p>
+ * Attach the index with {@link GildedRose#setTickListener(TickListener)} and
+ * call {@link #update(int)} after changing an item outside a tick. Sulfuras
+ * never expires and is not indexed.
+ */
+public class ExpiryIndex implements TickListener {
+
+    static final int DEFAULT_WINDOW = 128;
+
+    private static final int NONE = -1;
+    private static final int OVERFLOW = -2;
+    private static final int CATEGORIES = ItemCategory.values().length;
+
+    private final GildedRose app;
+    private final int window;
+    private final int bucketsPerCategory;
+
+    // Items of a bucket form a doubly linked list through next and prev
+    private final int[] next;
+    private final int[] prev;
+    private final int[] bucketOf;
+    private final long[] expiry;
+    private final byte[] indexedCategory;
+    private final int[] heads;
+    private final int[] tails;
+    private final Map<Long, Integer> overflowHeads = new HashMap<>();
+
+    private long day;
+    private int tickDays;
+
+    public ExpiryIndex(GildedRose app) {
+        this(app, DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param window the number of days ahead kept in per-day buckets,
+     *               rounded up to a power of two
+     */
+    public ExpiryIndex(GildedRose app, int window) {
+        if (window < 1 || window > 1 << 20) {
+            throw new IllegalArgumentException("Window out of range: " + window);
+        }
+        this.app = app;
+        this.window = window == 1 ? 1 : Integer.highestOneBit(window - 1) << 1;
+        // One bucket per ring slot, plus the expired bucket
+        this.bucketsPerCategory = this.window + 1;
+
+        int size = app.size();
+        this.next = new int[size];
+        this.prev = new int[size];
+        this.bucketOf = new int[size];
+        this.expiry = new long[size];
+        this.indexedCategory = new byte[size];
+        this.heads = new int[CATEGORIES * bucketsPerCategory];
+        this.tails = new int[CATEGORIES * bucketsPerCategory];
+        rebuild();
+    }
+
+    private void rebuild() {
+        Arrays.fill(heads, NONE);
+        Arrays.fill(tails, NONE);
+        overflowHeads.clear();
+        for (int i = 0; i < bucketOf.length; i++) {
+            insert(i);
+        }
+    }
+
+    /**
+     * Refiles item {@code index} after it was changed outside a tick.
+     */
+    public void update(int index) {
+        remove(index);
+        insert(index);
+    }
+
+    @Override
+    public void tickStarted(int itemCount, int days) {
+        tickDays = days;
+    }
+
+    @Override
+    public void itemUpdated(int index, ItemCategory category, int oldSellIn, int oldQuality, int newSellIn,
+            int newQuality) {
+    }
+
+    @Override
+    public void tickFinished(int itemCount, long durationNanos) {
+        if (tickDays >= window) {
+            day += tickDays;
+            rebuild();
+            return;
+        }
+        for (int d = 0; d < tickDays; d++) {
+            advanceOneDay();
+        }
+    }
+
+    private void advanceOneDay() {
+        int slot = (int) (day & (window - 1));
+        day++;
+        for (int category = 0; category < CATEGORIES; category++) {
+            int base = category * bucketsPerCategory;
+
+            // Yesterday's last day to sell has expired
+            int expired = base + window;
+            for (int i = heads[base + slot]; i != NONE;) {
+                int following = next[i];
+                append(expired, i);
+                i = following;
+            }
+            heads[base + slot] = NONE;
+            tails[base + slot] = NONE;
+
+            // The slot now holds the last day of the window
+            Integer first = overflowHeads.remove(overflowKey(category, day + window - 1));
+            for (int i = first != null ? first : NONE; i != NONE;) {
+                int following = next[i];
+                append(base + slot, i);
+                i = following;
+            }
+        }
+    }
+
+    /**
+     * Items of {@code category} with a sellIn from {@code minSellIn} to
+     * {@code maxSellIn} inclusive, as indices into the inventory. Takes time
+     * in proportion to the result when the range lies within the window.
+     */
+    public int[] find(ItemCategory category, int minSellIn, int maxSellIn) {
+        Result result = new Result();
+        find(category.ordinal(), minSellIn, maxSellIn, result);
+        return result.toArray();
+    }
+
+    /**
+     * Items of every category with a sellIn from {@code minSellIn} to
+     * {@code maxSellIn} inclusive.
+     */
+    public int[] find(int minSellIn, int maxSellIn) {
+        Result result = new Result();
+        for (int category = 0; category < CATEGORIES; category++) {
+            find(category, minSellIn, maxSellIn, result);
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Items that will pass their sell date within the next {@code days}
+     * ticks.
+     */
+    public int[] expiringWithin(int days) {
+        return find(0, days - 1);
+    }
+
+    private void find(int category, int minSellIn, int maxSellIn, Result result) {
+        if (minSellIn > maxSellIn) {
+            return;
+        }
+        int base = category * bucketsPerCategory;
+        if (minSellIn < 0) {
+            for (int i = heads[base + window]; i != NONE; i = next[i]) {
+                long sellIn = expiry[i] - day;
+                if (sellIn >= minSellIn && sellIn <= maxSellIn) {
+                    result.add(i);
+                }
+            }
+        }
+
+        for (long sellIn = Math.max(0, minSellIn), last = Math.min(maxSellIn, window - 1); sellIn <= last; sellIn++) {
+            for (int i = heads[base + (int) ((day + sellIn) & (window - 1))]; i != NONE; i = next[i]) {
+                result.add(i);
+            }
+        }
+
+        if (maxSellIn >= window) {
+            for (Map.Entry<Long, Integer> bucket : overflowHeads.entrySet()) {
+                long key = bucket.getKey();
+                long sellIn = key / CATEGORIES - day;
+                if (key % CATEGORIES == category && sellIn >= minSellIn && sellIn <= maxSellIn) {
+                    for (int i = bucket.getValue(); i != NONE; i = next[i]) {
+                        result.add(i);
+                    }
+                }
+            }
+        }
+    }
+
+    private void insert(int index) {
+        ItemCategory category = app.categoryOf(index);
+        if (category == ItemCategory.SULFURAS) {
+            bucketOf[index] = NONE;
+            return;
+        }
+
+        int sellIn = app.items[index].sellIn;
+        expiry[index] = day + sellIn;
+        indexedCategory[index] = (byte) category.ordinal();
+        int base = category.ordinal() * bucketsPerCategory;
+        if (sellIn < 0) {
+            append(base + window, index);
+        } else if (sellIn < window) {
+            append(base + (int) (expiry[index] & (window - 1)), index);
+        } else {
+            Long key = overflowKey(category.ordinal(), expiry[index]);
+            Integer head = overflowHeads.get(key);
+            bucketOf[index] = OVERFLOW;
+            prev[index] = NONE;
+            next[index] = head != null ? head : NONE;
+            if (head != null) {
+                prev[head] = index;
+            }
+            overflowHeads.put(key, index);
+        }
+    }
+
+    private void append(int bucket, int index) {
+        bucketOf[index] = bucket;
+        next[index] = NONE;
+        prev[index] = tails[bucket];
+        if (tails[bucket] == NONE) {
+            heads[bucket] = index;
+        } else {
+            next[tails[bucket]] = index;
+        }
+        tails[bucket] = index;
+    }
+
+    private void remove(int index) {
+        int bucket = bucketOf[index];
+        if (bucket == NONE) {
+            return;
+        }
+
+        if (next[index] != NONE) {
+            prev[next[index]] = prev[index];
+        } else if (bucket != OVERFLOW) {
+            tails[bucket] = prev[index];
+        }
+        if (prev[index] != NONE) {
+            next[prev[index]] = next[index];
+        } else if (bucket != OVERFLOW) {
+            heads[bucket] = next[index];
+        } else {
+            Long key = overflowKey(indexedCategory[index], expiry[index]);
+            if (next[index] != NONE) {
+                overflowHeads.put(key, next[index]);
+            } else {
+                overflowHeads.remove(key);
+            }
+        }
+        bucketOf[index] = NONE;
+    }
+
+    private static Long overflowKey(int category, long expiryDay) {
+        return expiryDay * CATEGORIES + category;
+    }
+
+    private static final class Result {
+
+        private int[] indices = new int[16];
+        private int size;
+
+        void add(int index) {
+            if (size == indices.length) {
+                indices = Arrays.copyOf(indices, size * 2);
+            }
+            indices[size++] = index;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(indices, size);
+        }
+    }
+
+}
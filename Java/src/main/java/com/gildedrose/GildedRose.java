@@ -1,7 +1,11 @@
 package com.gildedrose;
 
-class GildedRose {
+class GildedRose implements TickEngine {
     Item[] items;
+    final ItemCategory[] categories;
+    private final CategoryMatcher matcher;
+    private TickListener listener;
+    private long tickStartNanos;
 
     final static String SULFURAS_HAND_HAGNAROS = "Sulfuras, Hand of Ragnaros";
     final static String AGED_BRIE = "Aged Brie";
@@ -12,7 +16,43 @@ class GildedRose {
     final static int SULFURAS_QUALITY = 80;
 
     public GildedRose(Item[] items) {
+        this(items, CategoryMatcher.standard());
+    }
+
+    public GildedRose(Item[] items, CategoryMatcher matcher) {
         this.items = items;
+        this.matcher = matcher;
+        this.categories = new ItemCategory[items.length];
+        for (int i = 0; i < items.length; i++) {
+            categories[i] = matcher.match(items[i].name);
+        }
+    }
+
+    /**
+     * Categories are resolved once, when the inventory is built. Renaming an
+     * item (or replacing it) must go through these methods so the cached
+     * category follows; writing {@code Item.name} directly is not picked up.
+     */
+    public void renameItem(int index, String name) {
+        items[index].name = name;
+        categories[index] = matcher.match(name);
+    }
+
+    public void replaceItem(int index, Item item) {
+        items[index] = item;
+        categories[index] = matcher.match(item.name);
+    }
+
+    public ItemCategory categoryOf(int index) {
+        return categories[index];
+    }
+
+    /**
+     * Reports every tick to {@code listener}, or to nobody if it is
+     * {@code null}. Without a listener the tick does no extra work.
+     */
+    public void setTickListener(TickListener listener) {
+        this.listener = listener;
     }
 
     private void treatSulfuras(Item item) {
@@ -60,33 +100,108 @@ class GildedRose {
         }
     }
 
+    @Override
+    public int size() {
+        return items.length;
+    }
+
+    @Override
     public void updateQuality() {
-        for (Item item : items) {
+        beginTick();
+        updateQuality(0, items.length);
+        endTick();
+    }
+
+    @Override
+    public void beginTick() {
+        beginTick(1);
+    }
 
-            if (item.name.equals(GildedRose.SULFURAS_HAND_HAGNAROS)) {
-                treatSulfuras(item);
-                continue;
+    private void beginTick(int days) {
+        if (listener != null) {
+            listener.tickStarted(items.length, days);
+            tickStartNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void endTick() {
+        if (listener != null) {
+            listener.tickFinished(items.length, System.nanoTime() - tickStartNanos);
+        }
+    }
+
+    @Override
+    public void updateQuality(int from, int to) {
+        TickListener listener = this.listener;
+        if (listener == null) {
+            for (int i = from; i < to; i++) {
+                updateItem(items[i], categories[i]);
             }
+            return;
+        }
+
+        TickListener range = listener.rangeStarted(from, to);
+        for (int i = from; i < to; i++) {
+            Item item = items[i];
+            int oldSellIn = item.sellIn;
+            int oldQuality = item.quality;
+            updateItem(item, categories[i]);
+            range.itemUpdated(i, categories[i], oldSellIn, oldQuality, item.sellIn, item.quality);
+        }
+        listener.rangeFinished(range, from, to);
+    }
+
+    private void updateItem(Item item, ItemCategory category) {
+        if (category == ItemCategory.SULFURAS) {
+            treatSulfuras(item);
+            return;
+        }
 
-            if (item.quality > MIN_QUALITY && item.quality < MAX_QUALITY) {
-                switch (item.name) {
-                    case GildedRose.AGED_BRIE:
-                        appreciateAgedBrie(item);
-                        break;
-                    case GildedRose.BACKSTAGE_PASSES:
-                        appreciateBackstagePasses(item);
-                        break;
-                    case GildedRose.CONJURED:
-                        depreciateItemQuality(item, 2);
-                        break;
-                    default:
-                        depreciateItemQuality(item, 1);
-                        break;
+        if (item.quality > MIN_QUALITY && item.quality < MAX_QUALITY) {
+            switch (category) {
+                case AGED_BRIE:
+                    appreciateAgedBrie(item);
+                    break;
+                case BACKSTAGE_PASSES:
+                    appreciateBackstagePasses(item);
+                    break;
+                case CONJURED:
+                    depreciateItemQuality(item, 2);
+                    break;
+                default:
+                    depreciateItemQuality(item, 1);
+                    break;
             }
-                }
+        }
 
-            decreaseSellInDate(item);
+        decreaseSellInDate(item);
+    }
+
+    /**
+     * Advances the inventory by {@code days} days in one pass, with the same
+     * result as calling {@link #updateQuality()} that many times.
+     */
+    public void updateQuality(int days) {
+        DayAdvance.checkDays(days);
+        beginTick(days);
+        TickListener listener = this.listener;
+        TickListener range = listener != null ? listener.rangeStarted(0, items.length) : null;
+        for (int i = 0; i < items.length; i++) {
+            Item item = items[i];
+            ItemCategory category = categories[i];
+            int oldSellIn = item.sellIn;
+            int oldQuality = item.quality;
+            item.quality = DayAdvance.quality(category, oldSellIn, oldQuality, days);
+            item.sellIn = DayAdvance.sellIn(category, oldSellIn, days);
+            if (range != null) {
+                range.itemUpdated(i, category, oldSellIn, oldQuality, item.sellIn, item.quality);
+            }
+        }
+        if (listener != null) {
+            listener.rangeFinished(range, 0, items.length);
         }
+        endTick();
     }
 
 }
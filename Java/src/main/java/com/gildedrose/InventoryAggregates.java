@@ -0,0 +1,352 @@
+package com.gildedrose;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Quality aggregates of a {@link GildedRose} kept up to date by its ticks
+ * instead of scans: per category the item count, total quality and a
+ * histogram, plus the highest-quality items. Attach it with
+ * {@link GildedRose#setTickListener(TickListener)}.
+ * <p>
+ * During a tick each range of items accumulates its changes privately, in
+ * accumulators reused from tick to tick; they are merged when the tick
+ * finishes and published as an immutable view, so readers never wait for
+ * the tick and see a consistent state between two ticks. The histogram has
+ * one bucket per quality from 0 to 50 and a last bucket for anything above,
+ * such as Sulfuras.
+ */
+public class InventoryAggregates implements TickListener {
+
+    public static final int HISTOGRAM_SIZE = GildedRose.MAX_QUALITY + 2;
+
+    static final int DEFAULT_TOP_K = 16;
+
+    // Top-k lists: one per quality up to Sulfuras, then one for anything above
+    private static final int LIST_COUNT = GildedRose.SULFURAS_QUALITY + 2;
+
+    private static final int NONE = -1;
+    private static final ItemCategory[] CATEGORIES = ItemCategory.values();
+
+    private final GildedRose app;
+    private final int maxTopK;
+
+    // Only touched by the tick thread between ticks
+    private final long[] counts = new long[CATEGORIES.length];
+    private final long[] sums = new long[CATEGORIES.length];
+    private final long[] histograms = new long[CATEGORIES.length * HISTOGRAM_SIZE];
+    private final int[] quality;
+    private final byte[] category;
+
+    // Items of each (category, quality) as doubly linked lists
+    private final int[] next;
+    private final int[] prev;
+    private final int[] heads = new int[CATEGORIES.length * LIST_COUNT];
+
+    // Accumulators of the ranges finished this tick, and spare ones; both
+    // guarded by the list. Items reported outside a range go to unranged.
+    private final List<Changes> finished = new ArrayList<>();
+    private final Deque<Changes> spare = new ArrayDeque<>();
+    private final Changes unranged = new Changes();
+
+    private volatile View view;
+
+    public InventoryAggregates(GildedRose app) {
+        this(app, DEFAULT_TOP_K);
+    }
+
+    /**
+     * @param maxTopK the largest k that {@link #topK(int)} answers
+     */
+    public InventoryAggregates(GildedRose app, int maxTopK) {
+        if (maxTopK < 0) {
+            throw new IllegalArgumentException("Top k must not be negative: " + maxTopK);
+        }
+        this.app = app;
+        this.maxTopK = maxTopK;
+        int size = app.size();
+        this.quality = new int[size];
+        this.category = new byte[size];
+        this.next = new int[size];
+        this.prev = new int[size];
+
+        Arrays.fill(heads, NONE);
+        for (int i = 0; i < size; i++) {
+            add(i);
+        }
+        publish();
+    }
+
+    static int bucketOf(int quality) {
+        return quality < 0 ? 0 : Math.min(quality, HISTOGRAM_SIZE - 1);
+    }
+
+    private static int listOf(int category, int quality) {
+        return category * LIST_COUNT + (quality < 0 ? 0 : Math.min(quality, LIST_COUNT - 1));
+    }
+
+    @Override
+    public TickListener rangeStarted(int from, int to) {
+        synchronized (finished) {
+            Changes changes = spare.poll();
+            return changes != null ? changes : new Changes();
+        }
+    }
+
+    @Override
+    public void itemUpdated(int index, ItemCategory category, int oldSellIn, int oldQuality, int newSellIn,
+            int newQuality) {
+        synchronized (unranged) {
+            unranged.itemUpdated(index, category, oldSellIn, oldQuality, newSellIn, newQuality);
+        }
+    }
+
+    @Override
+    public void rangeFinished(TickListener range, int from, int to) {
+        synchronized (finished) {
+            finished.add((Changes) range);
+        }
+    }
+
+    @Override
+    public void tickFinished(int itemCount, long durationNanos) {
+        synchronized (finished) {
+            for (Changes changes : finished) {
+                merge(changes);
+                spare.push(changes);
+            }
+            finished.clear();
+        }
+        merge(unranged);
+        publish();
+    }
+
+    private void merge(Changes changes) {
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            sums[c] += changes.sums[c];
+        }
+        for (int b = 0; b < histograms.length; b++) {
+            histograms[b] += changes.histograms[b];
+        }
+        for (int m = 0; m < changes.moveCount; m++) {
+            int index = changes.moves[m];
+            unlink(index);
+            quality[index] = changes.newQualities[m];
+            link(index);
+        }
+        changes.clear();
+    }
+
+    /**
+     * The number of range accumulators kept for reuse.
+     */
+    int accumulatorCount() {
+        synchronized (finished) {
+            return finished.size() + spare.size();
+        }
+    }
+
+    /**
+     * Recomputes the contribution of item {@code index} after it was changed
+     * outside a tick.
+     */
+    public void update(int index) {
+        remove(index);
+        add(index);
+        publish();
+    }
+
+    private void add(int index) {
+        int c = app.categoryOf(index).ordinal();
+        int q = app.items[index].quality;
+        category[index] = (byte) c;
+        quality[index] = q;
+        counts[c]++;
+        sums[c] += q;
+        histograms[c * HISTOGRAM_SIZE + bucketOf(q)]++;
+        link(index);
+    }
+
+    private void remove(int index) {
+        int c = category[index];
+        counts[c]--;
+        sums[c] -= quality[index];
+        histograms[c * HISTOGRAM_SIZE + bucketOf(quality[index])]--;
+        unlink(index);
+    }
+
+    private void link(int index) {
+        int list = listOf(category[index], quality[index]);
+        prev[index] = NONE;
+        next[index] = heads[list];
+        if (heads[list] != NONE) {
+            prev[heads[list]] = index;
+        }
+        heads[list] = index;
+    }
+
+    private void unlink(int index) {
+        if (next[index] != NONE) {
+            prev[next[index]] = prev[index];
+        }
+        if (prev[index] != NONE) {
+            next[prev[index]] = next[index];
+        } else {
+            heads[listOf(category[index], quality[index])] = next[index];
+        }
+    }
+
+    private void publish() {
+        view = new View(counts.clone(), sums.clone(), histograms.clone(), topItems());
+    }
+
+    /**
+     * The {@code maxTopK} items of highest quality, best first, walking the
+     * quality lists down from the top. Items above the Sulfuras quality share
+     * a list and are sorted.
+     */
+    private int[] topItems() {
+        int[] top = new int[maxTopK];
+        int found = 0;
+
+        int above = 0;
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            for (int i = heads[c * LIST_COUNT + LIST_COUNT - 1]; i != NONE; i = next[i]) {
+                above++;
+            }
+        }
+        if (above > 0 && maxTopK > 0) {
+            long[] keyed = new long[above];
+            int k = 0;
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                for (int i = heads[c * LIST_COUNT + LIST_COUNT - 1]; i != NONE; i = next[i]) {
+                    // Highest quality, then lowest index, first
+                    keyed[k++] = (long) -quality[i] << 32 | i;
+                }
+            }
+            Arrays.sort(keyed);
+            for (k = 0; k < above && found < maxTopK; k++) {
+                top[found++] = (int) keyed[k];
+            }
+        }
+
+        for (int q = LIST_COUNT - 2; q >= 0 && found < maxTopK; q--) {
+            for (int c = 0; c < CATEGORIES.length && found < maxTopK; c++) {
+                for (int i = heads[c * LIST_COUNT + q]; i != NONE && found < maxTopK; i = next[i]) {
+                    top[found++] = i;
+                }
+            }
+        }
+        return Arrays.copyOf(top, found);
+    }
+
+    public long count(ItemCategory category) {
+        return view.counts[category.ordinal()];
+    }
+
+    public long totalQuality(ItemCategory category) {
+        return view.sums[category.ordinal()];
+    }
+
+    public double averageQuality(ItemCategory category) {
+        View current = view;
+        long count = current.counts[category.ordinal()];
+        return count == 0 ? 0 : (double) current.sums[category.ordinal()] / count;
+    }
+
+    public long count() {
+        long total = 0;
+        for (long count : view.counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long totalQuality() {
+        long total = 0;
+        for (long sum : view.sums) {
+            total += sum;
+        }
+        return total;
+    }
+
+    /**
+     * Item counts per quality, from 0 to 50, then above 50.
+     */
+    public long[] histogram(ItemCategory category) {
+        int from = category.ordinal() * HISTOGRAM_SIZE;
+        return Arrays.copyOfRange(view.histograms, from, from + HISTOGRAM_SIZE);
+    }
+
+    /**
+     * The indices of the {@code k} items of highest quality as of the last
+     * tick, best first.
+     */
+    public int[] topK(int k) {
+        if (k < 0 || k > maxTopK) {
+            throw new IllegalArgumentException("k must be between 0 and " + maxTopK + ": " + k);
+        }
+        int[] top = view.top;
+        return Arrays.copyOf(top, Math.min(k, top.length));
+    }
+
+    private static final class View {
+
+        final long[] counts;
+        final long[] sums;
+        final long[] histograms;
+        final int[] top;
+
+        View(long[] counts, long[] sums, long[] histograms, int[] top) {
+            this.counts = counts;
+            this.sums = sums;
+            this.histograms = histograms;
+            this.top = top;
+        }
+    }
+
+    /**
+     * Changes to the items of one range, or of those reported outside a
+     * range, during a tick.
+     */
+    private static final class Changes implements TickListener {
+
+        final long[] sums = new long[CATEGORIES.length];
+        final long[] histograms = new long[CATEGORIES.length * HISTOGRAM_SIZE];
+        int[] moves = new int[64];
+        int[] newQualities = new int[64];
+        int moveCount;
+
+        @Override
+        public void itemUpdated(int index, ItemCategory itemCategory, int oldSellIn, int oldQuality, int newSellIn,
+                int newQuality) {
+            if (oldQuality == newQuality) {
+                return;
+            }
+            int category = itemCategory.ordinal();
+            sums[category] += newQuality - oldQuality;
+            int oldBucket = bucketOf(oldQuality);
+            int newBucket = bucketOf(newQuality);
+            histograms[category * HISTOGRAM_SIZE + oldBucket]--;
+            histograms[category * HISTOGRAM_SIZE + newBucket]++;
+
+            if (moveCount == moves.length) {
+                moves = Arrays.copyOf(moves, moveCount * 2);
+                newQualities = Arrays.copyOf(newQualities, moveCount * 2);
+            }
+            moves[moveCount] = index;
+            newQualities[moveCount] = newQuality;
+            moveCount++;
+        }
+
+        void clear() {
+            Arrays.fill(sums, 0);
+            Arrays.fill(histograms, 0);
+            moveCount = 0;
+        }
+    }
+
+}
@@ -0,0 +1,355 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * Generates synthetic inventories of any size from a seed. Each item is
+ * derived from the seed and its index alone, so the same settings always
+ * give the same inventory and large inventories can be filled in parallel.
+ * Items go straight to their destination: an {@code Item[]}, a
+ * {@link ColumnarInventory}, an {@link OffHeapInventory}, a text file or any
+ * {@link Sink}.
+ * <p>
+ * Names follow the category rules: {@code "Backstage passes to ..."},
+ * {@code "Sulfuras, ..."} and {@code "Conjured ..."}, while Aged Brie has a
+ * single name. They are drawn from a fixed number of names per category, or
+ * unique to each item. Sulfuras always has quality 80.
+ */
+public final class InventoryGenerator {
+
+    public interface Sink {
+
+        void item(int index, String name, ItemCategory category, int sellIn, int quality);
+    }
+
+    /**
+     * How sellIn or quality values spread over their range.
+     */
+    public enum Distribution {
+        /** Every value equally likely. */
+        UNIFORM,
+        /** Most likely in the middle, falling off linearly to both ends. */
+        TRIANGULAR,
+        /** Most likely at the low end, falling off linearly to the high end. */
+        LOW,
+        /** Most likely at the high end, falling off linearly to the low end. */
+        HIGH
+    }
+
+    // Names are built once per category up to this many, then per item
+    static final int NAME_TABLE_LIMIT = 1 << 16;
+
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int CHUNK_SIZE = 1 << 14;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final ItemCategory[] CATEGORIES = ItemCategory.values();
+
+    private final long seed;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final int minSellIn;
+    private final int sellInRange;
+    private final Distribution sellInDistribution;
+    private final int minQuality;
+    private final int qualityRange;
+    private final Distribution qualityDistribution;
+    private final int distinctNames;
+    private final boolean uniqueNames;
+    private final String[][] nameTables = new String[CATEGORIES.length][];
+
+    private InventoryGenerator(Builder builder) {
+        this.seed = builder.seed;
+        this.cumulativeWeights = new int[CATEGORIES.length];
+        int total = 0;
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            total += builder.weights[c];
+            cumulativeWeights[c] = total;
+        }
+        this.totalWeight = total;
+        this.minSellIn = builder.minSellIn;
+        this.sellInRange = builder.maxSellIn - builder.minSellIn + 1;
+        this.sellInDistribution = builder.sellInDistribution;
+        this.minQuality = builder.minQuality;
+        this.qualityRange = builder.maxQuality - builder.minQuality + 1;
+        this.qualityDistribution = builder.qualityDistribution;
+        this.distinctNames = builder.distinctNames;
+        this.uniqueNames = builder.uniqueNames;
+
+        if (!uniqueNames && distinctNames <= NAME_TABLE_LIMIT) {
+            for (ItemCategory category : CATEGORIES) {
+                if (builder.weights[category.ordinal()] == 0) {
+                    continue;
+                }
+                int count = category == ItemCategory.AGED_BRIE ? 1 : distinctNames;
+                String[] names = new String[count];
+                for (int id = 0; id < count; id++) {
+                    names[id] = name(category, id);
+                }
+                nameTables[category.ordinal()] = names;
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    static String name(ItemCategory category, long id) {
+        switch (category) {
+            case AGED_BRIE:
+                return GildedRose.AGED_BRIE;
+            case SULFURAS:
+                return id == 0 ? GildedRose.SULFURAS_HAND_HAGNAROS : "Sulfuras, Relic " + id;
+            case BACKSTAGE_PASSES:
+                return id == 0 ? GildedRose.BACKSTAGE_PASSES : "Backstage passes to concert " + id;
+            case CONJURED:
+                return id == 0 ? "Conjured Mana Cake" : "Conjured Item " + id;
+            default:
+                return id == 0 ? "+5 Dexterity Vest" : id == 1 ? "Elixir of the Mongoose" : "Item " + id;
+        }
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * A uniform int in [0, bound) from the top 32 bits of {@code random}.
+     */
+    private static int below(long random, int bound) {
+        return (int) (((random >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * A value in [0, bound) following {@code distribution}, from the top 32
+     * bits of {@code random} and, unless uniform, of {@code extra}.
+     */
+    private static int sample(Distribution distribution, long random, long extra, int bound) {
+        int a = below(random, bound);
+        switch (distribution) {
+            case TRIANGULAR:
+                return (int) (((long) a + below(extra, bound)) >>> 1);
+            case LOW:
+                return Math.min(a, below(extra, bound));
+            case HIGH:
+                return Math.max(a, below(extra, bound));
+            default:
+                return a;
+        }
+    }
+
+    /**
+     * Generates the items {@code [from, to)} in order.
+     */
+    public void generate(int from, int to, Sink sink) {
+        generate(from, to, 0, sink);
+    }
+
+    /**
+     * Generates the {@code count} items from item {@code first} on, which
+     * may lie beyond the range of an int, reporting them with indices from 0
+     * to {@code count - 1}.
+     */
+    public void generate(long first, int count, Sink sink) {
+        if (first < 0 || count < 0 || first + count < 0) {
+            throw new IllegalArgumentException("Invalid item range: " + first + " + " + count);
+        }
+        generate(first, first + count, first, sink);
+    }
+
+    /**
+     * Generates the items {@code [from, to)} in order, reported at their
+     * index less {@code offset}.
+     */
+    private void generate(long from, long to, long offset, Sink sink) {
+        boolean uniform = sellInDistribution == Distribution.UNIFORM && qualityDistribution == Distribution.UNIFORM;
+        for (long i = from; i < to; i++) {
+            long first = mix(seed + (2L * i + 1) * GOLDEN_GAMMA);
+            long second = mix(seed + (2L * i + 2) * GOLDEN_GAMMA);
+            long extra = uniform ? 0 : mix(second + GOLDEN_GAMMA);
+
+            int pick = below(first, totalWeight);
+            int c = 0;
+            while (pick >= cumulativeWeights[c]) {
+                c++;
+            }
+            ItemCategory category = CATEGORIES[c];
+
+            int sellIn = minSellIn + sample(sellInDistribution, second, extra, sellInRange);
+            int quality = category == ItemCategory.SULFURAS ? GildedRose.SULFURAS_QUALITY
+                    : minQuality + sample(qualityDistribution, second << 32, extra << 32, qualityRange);
+
+            String name;
+            if (category == ItemCategory.AGED_BRIE) {
+                name = GildedRose.AGED_BRIE;
+            } else if (uniqueNames) {
+                name = name(category, i);
+            } else {
+                int id = below(first << 32, distinctNames);
+                String[] table = nameTables[c];
+                name = table != null ? table[id] : name(category, id);
+            }
+            sink.item((int) (i - offset), name, category, sellIn, quality);
+        }
+    }
+
+    private void generateInParallel(int count, Sink sink) {
+        if (count < PARALLEL_THRESHOLD) {
+            generate(0, count, sink);
+            return;
+        }
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel()
+                .forEach(chunk -> generate(chunk * CHUNK_SIZE, Math.min(count, (chunk + 1) * CHUNK_SIZE), sink));
+    }
+
+    public Item[] items(int count) {
+        Item[] items = new Item[count];
+        generateInParallel(count, (index, name, category, sellIn, quality) -> items[index] = new Item(name, sellIn,
+                quality));
+        return items;
+    }
+
+    public ColumnarInventory columnar(int count) {
+        ColumnarInventory inventory = new ColumnarInventory(count);
+        generateInParallel(count, (index, name, category, sellIn, quality) -> {
+            inventory.names[index] = name;
+            inventory.categories[index] = (byte) category.ordinal();
+            inventory.sellIn[index] = sellIn;
+            inventory.quality[index] = quality;
+        });
+        return inventory;
+    }
+
+    public OffHeapInventory offHeap(int count) {
+        OffHeapInventory inventory = new OffHeapInventory(count);
+        generate(0, count, (index, name, category, sellIn, quality) -> inventory.set(index, name, sellIn, quality));
+        return inventory;
+    }
+
+    /**
+     * Writes the items as UTF-8 {@code name, sellIn, quality} lines, the
+     * format read by {@link InventoryStreamProcessor}.
+     */
+    public void writeText(Path path, int count) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DailyReportRenderer renderer = new DailyReportRenderer(channel, DailyReportRenderer.DEFAULT_BUFFER_SIZE,
+                    StandardCharsets.UTF_8);
+            generate(0, count, (index, name, category, sellIn, quality) -> renderer.item(name, sellIn, quality));
+            renderer.flush();
+        }
+    }
+
+    public static final class Builder {
+
+        private long seed = 42;
+        private final int[] weights = { 40, 15, 15, 15, 15 };
+        private int minSellIn = -10;
+        private int maxSellIn = 30;
+        private Distribution sellInDistribution = Distribution.UNIFORM;
+        private int minQuality = 0;
+        private int maxQuality = 50;
+        private Distribution qualityDistribution = Distribution.UNIFORM;
+        private int distinctNames = 100;
+        private boolean uniqueNames;
+
+        private Builder() {
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Relative share of each category in the inventory.
+         */
+        public Builder mix(int normal, int agedBrie, int backstagePasses, int sulfuras, int conjured) {
+            // In ItemCategory order
+            int[] mix = { normal, sulfuras, agedBrie, backstagePasses, conjured };
+            long total = 0;
+            for (int weight : mix) {
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Negative weight in mix: " + weight);
+                }
+                total += weight;
+            }
+            if (total == 0 || total > 1 << 16) {
+                throw new IllegalArgumentException("Mix weights must add up to between 1 and 65536: " + total);
+            }
+            System.arraycopy(mix, 0, weights, 0, mix.length);
+            return this;
+        }
+
+        public Builder sellIn(int min, int max) {
+            return sellIn(min, max, Distribution.UNIFORM);
+        }
+
+        public Builder sellIn(int min, int max, Distribution distribution) {
+            checkRange(min, max);
+            this.minSellIn = min;
+            this.maxSellIn = max;
+            this.sellInDistribution = distribution;
+            return this;
+        }
+
+        public Builder quality(int min, int max) {
+            return quality(min, max, Distribution.UNIFORM);
+        }
+
+        /**
+         * The quality of every category but Sulfuras, which is always 80.
+         */
+        public Builder quality(int min, int max, Distribution distribution) {
+            checkRange(min, max);
+            this.minQuality = min;
+            this.maxQuality = max;
+            this.qualityDistribution = distribution;
+            return this;
+        }
+
+        /**
+         * The number of distinct names per category, Aged Brie excepted.
+         * Each item draws its name from them, with repeats.
+         */
+        public Builder distinctNames(int distinctNames) {
+            if (distinctNames < 1) {
+                throw new IllegalArgumentException("Distinct names must be positive: " + distinctNames);
+            }
+            this.distinctNames = distinctNames;
+            this.uniqueNames = false;
+            return this;
+        }
+
+        /**
+         * Gives every item a name of its own, derived from its index. Aged
+         * Brie keeps its single name, since the rules know no other.
+         */
+        public Builder uniqueNames() {
+            this.uniqueNames = true;
+            return this;
+        }
+
+        private static void checkRange(int min, int max) {
+            if (min > max || (long) max - min >= Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid range: " + min + ".." + max);
+            }
+        }
+
+        public InventoryGenerator build() {
+            return new InventoryGenerator(this);
+        }
+    }
+
+}
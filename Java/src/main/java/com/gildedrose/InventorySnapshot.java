@@ -0,0 +1,391 @@
+package com.gildedrose;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A point-in-time copy of an inventory that can be saved to and restored
+ * from a compact binary file. Taking the snapshot of an {@code Item[]} only
+ * copies the names, sellIn and quality of the items, so it is cheap enough
+ * to do between two ticks. A {@link ColumnarInventory} is not even copied
+ * then: its columns are captured copy-on-write by {@link ColumnarCapture},
+ * and copied when the snapshot is first used, or page by page as ticks
+ * first write to them. Encoding and writing can run on another thread while
+ * ticks go on.
+ * <p>
+ * Layout, little-endian header followed by an optionally compressed body:
+ * <pre>
+ * header  magic, version, codec, item count, name count, CRC-32 of the body (ints), reserved
+ * body    name count x (varint byte length, UTF-8 bytes)
+ *         item count x (varint name id, zigzag varint sellIn delta, zigzag varint quality delta)
+ * </pre>
+ * Deltas are taken from the previous item, so runs of similar items encode
+ * in a few bytes each.
+ */
+public final class InventorySnapshot {
+
+    public enum Codec {
+        NONE, DEFLATE
+    }
+
+    static final int MAGIC = 0x47525353;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Deflate never expands data by more than this factor
+    private static final int MAX_DEFLATE_RATIO = 1032;
+
+    // An item is encoded in at least three bytes, a name in at least one
+    private static final int MIN_ITEM_BYTES = 3;
+
+    private final int size;
+    private String[] names;
+    private int[] sellIn;
+    private int[] quality;
+
+    // Until the columns are copied out of it
+    private ColumnarCapture capture;
+
+    private InventorySnapshot(String[] names, int[] sellIn, int[] quality) {
+        this.size = names.length;
+        this.names = names;
+        this.sellIn = sellIn;
+        this.quality = quality;
+    }
+
+    private InventorySnapshot(ColumnarCapture capture) {
+        this.size = capture.size();
+        this.capture = capture;
+    }
+
+    /**
+     * Copies the current state of {@code items}; take it between ticks.
+     */
+    public static InventorySnapshot of(Item[] items) {
+        String[] names = new String[items.length];
+        int[] sellIn = new int[items.length];
+        int[] quality = new int[items.length];
+        for (int i = 0; i < items.length; i++) {
+            Item item = items[i];
+            names[i] = item.name;
+            sellIn[i] = item.sellIn;
+            quality[i] = item.quality;
+        }
+        return new InventorySnapshot(names, sellIn, quality);
+    }
+
+    /**
+     * Captures the columns of {@code inventory} without copying them yet;
+     * take it between ticks.
+     */
+    public static InventorySnapshot of(ColumnarInventory inventory) {
+        return new InventorySnapshot(inventory.capture());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the captured columns out of the capture, the first time only.
+     */
+    private synchronized void copyColumns() {
+        if (capture != null) {
+            String[] names = new String[size];
+            int[] sellIn = new int[size];
+            int[] quality = new int[size];
+            capture.copyTo(names, sellIn, quality);
+            this.names = names;
+            this.sellIn = sellIn;
+            this.quality = quality;
+            capture = null;
+        }
+    }
+
+    public Item[] toItems() {
+        copyColumns();
+        Item[] items = new Item[names.length];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(names[i], sellIn[i], quality[i]);
+        }
+        return items;
+    }
+
+    public void write(Path path, Codec codec) throws IOException {
+        copyColumns();
+        Map<String, Integer> nameIds = new HashMap<>();
+        int[] itemNameIds = new int[names.length];
+        String[] dictionary = new String[Math.min(names.length, 16)];
+        String previousName = null;
+        int previousId = -1;
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            if (name != previousName) {
+                Integer id = nameIds.get(name);
+                if (id == null) {
+                    id = nameIds.size();
+                    nameIds.put(name, id);
+                    if (id == dictionary.length) {
+                        dictionary = Arrays.copyOf(dictionary, dictionary.length * 2);
+                    }
+                    dictionary[id] = name;
+                }
+                previousName = name;
+                previousId = id;
+            }
+            itemNameIds[i] = previousId;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            OutputStream file = Channels.newOutputStream(channel);
+            Deflater deflater = codec == Codec.DEFLATE ? new Deflater(Deflater.BEST_SPEED) : null;
+            Encoder body;
+            try {
+                DeflaterOutputStream deflated = deflater != null
+                        ? new DeflaterOutputStream(file, deflater, BUFFER_SIZE)
+                        : null;
+                body = new Encoder(deflated != null ? deflated : file);
+
+                for (int n = 0; n < nameIds.size(); n++) {
+                    byte[] bytes = dictionary[n].getBytes(StandardCharsets.UTF_8);
+                    body.varint(bytes.length);
+                    body.bytes(bytes);
+                }
+                int previousSellIn = 0;
+                int previousQuality = 0;
+                for (int i = 0; i < names.length; i++) {
+                    body.varint(itemNameIds[i]);
+                    body.varint(zigzag(sellIn[i] - previousSellIn));
+                    body.varint(zigzag(quality[i] - previousQuality));
+                    previousSellIn = sellIn[i];
+                    previousQuality = quality[i];
+                }
+                body.flush();
+                if (deflated != null) {
+                    deflated.finish();
+                }
+            } finally {
+                if (deflater != null) {
+                    deflater.end();
+                }
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(codec.ordinal()).putInt(names.length)
+                    .putInt(nameIds.size()).putInt((int) body.crc.getValue());
+            header.clear();
+            for (long position = 0; header.hasRemaining();) {
+                position += channel.write(header, position);
+            }
+        }
+    }
+
+    public static InventorySnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("Not an inventory snapshot: " + path);
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not an inventory snapshot: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported inventory snapshot version " + version + ": " + path);
+            }
+            int codecId = header.getInt();
+            if (codecId < 0 || codecId >= Codec.values().length) {
+                throw new IOException("Unknown inventory snapshot codec " + codecId + ": " + path);
+            }
+            Codec codec = Codec.values()[codecId];
+            int size = header.getInt();
+            int nameCount = header.getInt();
+            int checksum = header.getInt();
+
+            // Check the counts against what the body could hold before
+            // allocating anything for them
+            long bodyBytes = channel.size() - HEADER_SIZE;
+            long maxBodyBytes = codec == Codec.DEFLATE ? bodyBytes * MAX_DEFLATE_RATIO : bodyBytes;
+            if (size < 0 || nameCount < 0 || nameCount + (long) size * MIN_ITEM_BYTES > maxBodyBytes) {
+                throw new IOException("Corrupt inventory snapshot: " + path);
+            }
+
+            InputStream file = Channels.newInputStream(channel);
+            Inflater inflater = codec == Codec.DEFLATE ? new Inflater() : null;
+            Decoder body = new Decoder(inflater != null ? new InflaterInputStream(file, inflater, BUFFER_SIZE) : file);
+            try {
+                String[] dictionary = new String[nameCount];
+                for (int n = 0; n < nameCount; n++) {
+                    int length = body.varint();
+                    if (length < 0 || length > maxBodyBytes) {
+                        throw new IOException("Corrupt inventory snapshot: " + path);
+                    }
+                    byte[] bytes = new byte[length];
+                    body.bytes(bytes);
+                    dictionary[n] = new String(bytes, StandardCharsets.UTF_8);
+                }
+
+                String[] names = new String[size];
+                int[] sellIn = new int[size];
+                int[] quality = new int[size];
+                int previousSellIn = 0;
+                int previousQuality = 0;
+                for (int i = 0; i < size; i++) {
+                    int nameId = body.varint();
+                    if (nameId < 0 || nameId >= nameCount) {
+                        throw new IOException("Corrupt inventory snapshot: " + path);
+                    }
+                    names[i] = dictionary[nameId];
+                    previousSellIn += unzigzag(body.varint());
+                    previousQuality += unzigzag(body.varint());
+                    sellIn[i] = previousSellIn;
+                    quality[i] = previousQuality;
+                }
+
+                if ((int) body.checksum() != checksum) {
+                    throw new IOException("Inventory snapshot checksum mismatch: " + path);
+                }
+                return new InventorySnapshot(names, sellIn, quality);
+            } finally {
+                if (inflater != null) {
+                    inflater.end();
+                }
+            }
+        }
+    }
+
+    static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Encoder {
+
+        final CRC32 crc = new CRC32();
+        private final OutputStream out;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+
+        Encoder(OutputStream out) {
+            this.out = out;
+        }
+
+        void varint(int value) throws IOException {
+            if (position > buffer.length - 5) {
+                flush();
+            }
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void bytes(byte[] bytes) throws IOException {
+            for (int written = 0; written < bytes.length;) {
+                if (position == buffer.length) {
+                    flush();
+                }
+                int chunk = Math.min(buffer.length - position, bytes.length - written);
+                System.arraycopy(bytes, written, buffer, position, chunk);
+                position += chunk;
+                written += chunk;
+            }
+        }
+
+        void flush() throws IOException {
+            crc.update(buffer, 0, position);
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static final class Decoder {
+
+        private final CRC32 crc = new CRC32();
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        Decoder(InputStream in) {
+            this.in = in;
+        }
+
+        int varint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                if (position == limit) {
+                    fill();
+                }
+                byte b = buffer[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in inventory snapshot");
+        }
+
+        void bytes(byte[] bytes) throws IOException {
+            for (int read = 0; read < bytes.length;) {
+                if (position == limit) {
+                    fill();
+                }
+                int chunk = Math.min(limit - position, bytes.length - read);
+                System.arraycopy(buffer, position, bytes, read, chunk);
+                position += chunk;
+                read += chunk;
+            }
+        }
+
+        private void fill() throws IOException {
+            crc.update(buffer, 0, limit);
+            position = 0;
+            limit = 0;
+            while (limit == 0) {
+                limit = in.read(buffer);
+                if (limit < 0) {
+                    limit = 0;
+                    throw new EOFException("Truncated inventory snapshot");
+                }
+            }
+        }
+
+        long checksum() throws IOException {
+            crc.update(buffer, 0, position);
+            if (position != limit || in.read() >= 0) {
+                throw new IOException("Trailing data in inventory snapshot");
+            }
+            return crc.getValue();
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Applies the daily update to an inventory streamed in the
+ * {@code name, sellIn, quality} line format printed by {@link Item#toString()},
+ * using two fixed-size buffers whatever the size of the input. Records are
+ * updated straight from the input bytes, without creating an {@link Item} or
+ * a {@link String} per line; names are classified on their UTF-8 bytes.
+ * Lines that are not records (headers, blank lines) are copied unchanged.
+ */
+public class InventoryStreamProcessor {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    // Room for ", " twice and two signed ints after the longest name
+    private static final int RECORD_OVERHEAD = 32;
+
+    private final ByteBuffer in;
+    private final ByteBuffer out;
+    private final int[] field = new int[2];
+
+    public InventoryStreamProcessor() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize the longest line that can be processed, in bytes
+     */
+    public InventoryStreamProcessor(int bufferSize) {
+        this.in = ByteBuffer.allocate(bufferSize);
+        this.out = ByteBuffer.allocate(bufferSize + RECORD_OVERHEAD);
+    }
+
+    public long process(InputStream input, OutputStream output, int days) throws IOException {
+        return process(Channels.newChannel(input), Channels.newChannel(output), days);
+    }
+
+    /**
+     * Copies {@code input} to {@code output}, advancing every record by
+     * {@code days} days.
+     *
+     * @return the number of records updated
+     */
+    public long process(ReadableByteChannel input, WritableByteChannel output, int days) throws IOException {
+        DayAdvance.checkDays(days);
+        in.clear();
+        out.clear();
+
+        byte[] bytes = in.array();
+        long records = 0;
+        boolean endOfInput = false;
+
+        while (!endOfInput) {
+            endOfInput = input.read(in) < 0;
+            in.flip();
+
+            int lineStart = in.position();
+            for (int i = lineStart; i < in.limit(); i++) {
+                if (bytes[i] == '\n') {
+                    records += processLine(bytes, lineStart, i, true, days, output);
+                    lineStart = i + 1;
+                }
+            }
+            if (endOfInput && lineStart < in.limit()) {
+                records += processLine(bytes, lineStart, in.limit(), false, days, output);
+                lineStart = in.limit();
+            }
+
+            in.position(lineStart);
+            in.compact();
+            if (!in.hasRemaining()) {
+                throw new IOException("Line longer than " + in.capacity() + " bytes");
+            }
+        }
+
+        flush(output);
+        return records;
+    }
+
+    private int processLine(byte[] bytes, int start, int end, boolean newline, int days, WritableByteChannel output)
+            throws IOException {
+        if (out.remaining() < end - start + RECORD_OVERHEAD) {
+            flush(output);
+        }
+
+        int contentEnd = end > start && bytes[end - 1] == '\r' ? end - 1 : end;
+        int qualityComma = lastIndexOf(bytes, start, contentEnd, (byte) ',');
+        int sellInComma = lastIndexOf(bytes, start, qualityComma, (byte) ',');
+
+        if (sellInComma < 0 || !parseInt(bytes, sellInComma + 1, qualityComma, 0)
+                || !parseInt(bytes, qualityComma + 1, contentEnd, 1)) {
+            out.put(bytes, start, end - start);
+            if (newline) {
+                out.put((byte) '\n');
+            }
+            return 0;
+        }
+
+        ItemCategory category = CategoryMatcher.standard().match(bytes, start, sellInComma);
+        int sellIn = field[0];
+        int quality = field[1];
+
+        out.put(bytes, start, sellInComma - start);
+        out.put((byte) ',').put((byte) ' ');
+        DailyReportRenderer.putInt(out, DayAdvance.sellIn(category, sellIn, days));
+        out.put((byte) ',').put((byte) ' ');
+        DailyReportRenderer.putInt(out, DayAdvance.quality(category, sellIn, quality, days));
+        if (contentEnd != end) {
+            out.put((byte) '\r');
+        }
+        if (newline) {
+            out.put((byte) '\n');
+        }
+        return 1;
+    }
+
+    private void flush(WritableByteChannel output) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            output.write(out);
+        }
+        out.clear();
+    }
+
+    private static int lastIndexOf(byte[] bytes, int start, int end, byte b) {
+        for (int i = end - 1; i >= start; i--) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses an optionally space-padded, optionally negative int into
+     * {@code field[slot]}.
+     */
+    private boolean parseInt(byte[] bytes, int start, int end, int slot) {
+        while (start < end && bytes[start] == ' ') {
+            start++;
+        }
+        while (end > start && bytes[end - 1] == ' ') {
+            end--;
+        }
+
+        boolean negative = start < end && bytes[start] == '-';
+        if (negative) {
+            start++;
+        }
+        if (start == end || end - start > 10) {
+            return false;
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            return false;
+        }
+
+        field[slot] = (int) value;
+        return true;
+    }
+
+    /**
+     * Usage: {@code InventoryStreamProcessor <input> <output> [days]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: InventoryStreamProcessor <input> <output> [days]");
+            System.exit(1);
+        }
+
+        int days = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        try (FileChannel input = FileChannel.open(Paths.get(args[0]), StandardOpenOption.READ);
+                FileChannel output = FileChannel.open(Paths.get(args[1]), StandardOpenOption.WRITE,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            new InventoryStreamProcessor().process(input, output, days);
+        }
+    }
+
+}
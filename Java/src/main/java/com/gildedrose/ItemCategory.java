@@ -0,0 +1,27 @@
+package com.gildedrose;
+
+/**
+ * The rule set an item follows. The ordinal is what the columnar engines
+ * store per item, so new constants must only be appended.
+ */
+public enum ItemCategory {
+    NORMAL,
+    SULFURAS,
+    AGED_BRIE,
+    BACKSTAGE_PASSES,
+    CONJURED;
+
+    private static final ItemCategory[] VALUES = values();
+
+    /**
+     * Resolves a name with the {@link CategoryMatcher#standard() standard}
+     * matcher.
+     */
+    public static ItemCategory of(String name) {
+        return CategoryMatcher.standard().match(name);
+    }
+
+    public static ItemCategory ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,15 @@
+package com.gildedrose;
+
+/**
+ * The daily update for one category of items, registered with an
+ * {@link ItemRuleRegistry}. The engine groups items by rule and hands each
+ * rule its whole group at once, so implementations should do their own loop
+ * over {@code [from, to)}: the per-item code then only ever sees one rule
+ * and stays monomorphic, however many rules are registered.
+ */
+public interface ItemRule {
+
+    String category();
+
+    void tick(int[] sellIn, int[] quality, int from, int to);
+}
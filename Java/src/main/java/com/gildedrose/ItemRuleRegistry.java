@@ -0,0 +1,105 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rules by category, and the item names and name prefixes that follow each
+ * of them. Registered names and prefixes win over the built-in categories;
+ * other names follow the rule of their built-in {@link ItemCategory}. A
+ * registry comes with the built-in categories; registering a rule under an
+ * existing category replaces it. Complete the registrations before building
+ * an engine on the registry.
+ * <p>
+ * The registry is the category resolution of {@link BlockedGildedRose},
+ * which runs every rule, built-in or not, over its own block of columns.
+ * {@link GildedRose} keeps its switch as the Item-based reference engine.
+ */
+public final class ItemRuleRegistry {
+
+    private final List<ItemRule> rules = new ArrayList<>();
+    private final Map<String, Integer> ruleIdsByCategory = new HashMap<>();
+    private final NameTrie.Builder names = new NameTrie.Builder();
+    private NameTrie trie;
+    private final int[] builtInRuleIds = new int[ItemCategory.values().length];
+
+    private ItemRuleRegistry(TickKernel kernel) {
+        for (ItemCategory category : ItemCategory.values()) {
+            builtInRuleIds[category.ordinal()] = rules.size();
+            register(new KernelItemRule(category, kernel));
+        }
+    }
+
+    public static ItemRuleRegistry withBuiltInRules() {
+        return new ItemRuleRegistry(TickKernels.best());
+    }
+
+    static ItemRuleRegistry withBuiltInRules(TickKernel kernel) {
+        return new ItemRuleRegistry(kernel);
+    }
+
+    public ItemRuleRegistry register(ItemRule rule, String... itemNames) {
+        Integer ruleId = ruleIdsByCategory.get(rule.category());
+        if (ruleId == null) {
+            ruleIdsByCategory.put(rule.category(), rules.size());
+            rules.add(rule);
+        } else {
+            rules.set(ruleId, rule);
+        }
+
+        for (String itemName : itemNames) {
+            register(itemName, rule.category());
+        }
+        return this;
+    }
+
+    public ItemRuleRegistry register(String itemName, String category) {
+        names.exact(itemName, ruleIdOfCategory(category));
+        trie = null;
+        return this;
+    }
+
+    /**
+     * Every name starting with {@code prefix} follows the rule of
+     * {@code category}, unless a longer prefix or the exact name is
+     * registered too.
+     */
+    public ItemRuleRegistry registerPrefix(String prefix, String category) {
+        names.prefix(prefix, ruleIdOfCategory(category));
+        trie = null;
+        return this;
+    }
+
+    private int ruleIdOfCategory(String category) {
+        Integer ruleId = ruleIdsByCategory.get(category);
+        if (ruleId == null) {
+            throw new IllegalArgumentException("No rule registered for category " + category);
+        }
+        return ruleId;
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    public ItemRule rule(String category) {
+        Integer ruleId = ruleIdsByCategory.get(category);
+        return ruleId == null ? null : rules.get(ruleId);
+    }
+
+    ItemRule rule(int ruleId) {
+        return rules.get(ruleId);
+    }
+
+    int ruleIdOf(String itemName) {
+        NameTrie trie = this.trie;
+        if (trie == null) {
+            this.trie = trie = names.build();
+        }
+        int ruleId = trie.match(itemName);
+        return ruleId == NameTrie.NONE ? builtInRuleIds[ItemCategory.of(itemName).ordinal()] : ruleId;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.gildedrose;
+
+/**
+ * A built-in {@link ItemCategory} as an {@link ItemRule}, updated by a
+ * {@link TickKernel}.
+ */
+final class KernelItemRule implements ItemRule {
+
+    private final ItemCategory category;
+    private final TickKernel kernel;
+
+    KernelItemRule(ItemCategory category, TickKernel kernel) {
+        this.category = category;
+        this.kernel = kernel;
+    }
+
+    @Override
+    public String category() {
+        return category.name();
+    }
+
+    @Override
+    public void tick(int[] sellIn, int[] quality, int from, int to) {
+        kernel.tick(category, sellIn, quality, from, to);
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An inventory file of fixed-width binary records, updated in place through
+ * memory mapping so a tick needs no deserialization and almost no heap.
+ * <p>
+ * Layout, little-endian:
+ * <pre>
+ * header      magic, version, item count, name count (ints), dictionary offset (long), reserved
+ * records     item count x (name id, sellIn, quality) as ints
+ * dictionary  name count x (byte length as int, UTF-8 bytes)
+ * </pre>
+ */
+public final class MappedInventoryFile implements TickEngine, AutoCloseable {
+
+    static final int MAGIC = 0x47524956;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 12;
+
+    // Records per mapping; keeps each MappedByteBuffer well under 2 GB
+    static final int RECORDS_PER_SEGMENT = 1 << 26;
+
+    private static final int NAME_ID = 0;
+    private static final int SELL_IN = 4;
+    private static final int QUALITY = 8;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final int size;
+    private final String[] names;
+    private final byte[] nameCategories;
+
+    private MappedInventoryFile(FileChannel channel, MappedByteBuffer[] segments, int size, String[] names) {
+        this.channel = channel;
+        this.segments = segments;
+        this.size = size;
+        this.names = names;
+        this.nameCategories = new byte[names.length];
+        for (int i = 0; i < names.length; i++) {
+            nameCategories[i] = (byte) ItemCategory.of(names[i]).ordinal();
+        }
+    }
+
+    public static void write(Path path, Item[] items) throws IOException {
+        Map<String, Integer> nameIds = new HashMap<>();
+        List<String> names = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.position(HEADER_SIZE);
+
+            for (Item item : items) {
+                Integer nameId = nameIds.get(item.name);
+                if (nameId == null) {
+                    nameId = names.size();
+                    nameIds.put(item.name, nameId);
+                    names.add(item.name);
+                }
+                if (buffer.remaining() < RECORD_SIZE) {
+                    drain(channel, buffer);
+                }
+                buffer.putInt(nameId).putInt(item.sellIn).putInt(item.quality);
+            }
+
+            long dictionaryOffset = HEADER_SIZE + (long) items.length * RECORD_SIZE;
+            for (String name : names) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                if (buffer.remaining() < 4) {
+                    drain(channel, buffer);
+                }
+                buffer.putInt(bytes.length);
+                for (int written = 0; written < bytes.length;) {
+                    if (!buffer.hasRemaining()) {
+                        drain(channel, buffer);
+                    }
+                    int chunk = Math.min(buffer.remaining(), bytes.length - written);
+                    buffer.put(bytes, written, chunk);
+                    written += chunk;
+                }
+            }
+            drain(channel, buffer);
+
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(items.length).putInt(names.size()).putLong(dictionaryOffset);
+            buffer.flip();
+            for (long position = 0; buffer.hasRemaining();) {
+                position += channel.write(buffer, position);
+            }
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public static MappedInventoryFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not an inventory file: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported inventory file version " + version + ": " + path);
+            }
+            int size = header.getInt();
+            int nameCount = header.getInt();
+            long dictionaryOffset = header.getLong();
+
+            String[] names = readDictionary(channel, dictionaryOffset, nameCount);
+
+            int segmentCount = (size + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT;
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                long records = Math.min(RECORDS_PER_SEGMENT, size - (long) s * RECORDS_PER_SEGMENT);
+                long offset = HEADER_SIZE + (long) s * RECORDS_PER_SEGMENT * RECORD_SIZE;
+                segments[s] = channel.map(FileChannel.MapMode.READ_WRITE, offset, records * RECORD_SIZE);
+                segments[s].order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            return new MappedInventoryFile(channel, segments, size, names);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static String[] readDictionary(FileChannel channel, long offset, int nameCount) throws IOException {
+        String[] names = new String[nameCount];
+        ByteBuffer length = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < nameCount; i++) {
+            length.clear();
+            readFully(channel, length, offset);
+            ByteBuffer bytes = ByteBuffer.allocate(length.getInt());
+            readFully(channel, bytes, offset + 4);
+            names[i] = new String(bytes.array(), StandardCharsets.UTF_8);
+            offset += 4 + bytes.capacity();
+        }
+        return names;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of inventory file");
+            }
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    public Item[] toItems() {
+        Item[] items = new Item[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = new Item(name(i), sellIn(i), quality(i));
+        }
+        return items;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private ByteBuffer segment(int index) {
+        return segments[index / RECORDS_PER_SEGMENT];
+    }
+
+    private static int offset(int index) {
+        return (index % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+    }
+
+    public String name(int index) {
+        return names[segment(index).getInt(offset(index) + NAME_ID)];
+    }
+
+    public ItemCategory category(int index) {
+        return ItemCategory.ofOrdinal(nameCategories[segment(index).getInt(offset(index) + NAME_ID)]);
+    }
+
+    public int sellIn(int index) {
+        return segment(index).getInt(offset(index) + SELL_IN);
+    }
+
+    public int quality(int index) {
+        return segment(index).getInt(offset(index) + QUALITY);
+    }
+
+    @Override
+    public void updateQuality(int from, int to) {
+        while (from < to) {
+            int segmentEnd = Math.min(to, (from / RECORDS_PER_SEGMENT + 1) * RECORDS_PER_SEGMENT);
+            ByteBuffer segment = segment(from);
+            for (int record = offset(from), end = record + (segmentEnd - from) * RECORD_SIZE; record < end;
+                    record += RECORD_SIZE) {
+                byte category = nameCategories[segment.getInt(record + NAME_ID)];
+                int sellIn = segment.getInt(record + SELL_IN);
+                int quality = segment.getInt(record + QUALITY);
+
+                segment.putInt(record + QUALITY, QualityRules.nextQuality(category, sellIn, quality));
+                segment.putInt(record + SELL_IN, QualityRules.nextSellIn(category, sellIn));
+            }
+            from = segmentEnd;
+        }
+    }
+
+    public void updateQuality(int days) {
+        DayAdvance.checkDays(days);
+        for (int i = 0; i < size; i++) {
+            ByteBuffer segment = segment(i);
+            int record = offset(i);
+            ItemCategory category = ItemCategory.ofOrdinal(nameCategories[segment.getInt(record + NAME_ID)]);
+            int sellIn = segment.getInt(record + SELL_IN);
+            int quality = segment.getInt(record + QUALITY);
+
+            segment.putInt(record + QUALITY, DayAdvance.quality(category, sellIn, quality, days));
+            segment.putInt(record + SELL_IN, DayAdvance.sellIn(category, sellIn, days));
+        }
+    }
+
+    /**
+     * Writes the updated records through to the storage device.
+     */
+    public void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.gildedrose;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Ticks many shops, each its own {@link TickEngine}, on a
+ * {@link ForkJoinPool}. The work is split by item count over all shops laid
+ * end to end, so a giant shop is shared between workers while small ones
+ * are batched together. A day ends only when every shop has been ticked;
+ * each shop's {@link TickEngine#endTick()} and {@link ShopListener} run as
+ * soon as its last range is done, on whichever worker finished it.
+ */
+public class MultiShopTick implements AutoCloseable {
+
+    /**
+     * Called once per shop and day. May be called from several threads at
+     * once.
+     */
+    public interface ShopListener {
+
+        void shopTicked(int shop, int day);
+    }
+
+    static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
+
+    // Aim for a few chunks per worker so stragglers can be stolen.
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final TickEngine[] shops;
+    private final ShopListener listener;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int chunkSize;
+
+    // Shop s holds the items [offsets[s], offsets[s + 1]) of the day
+    private final long[] offsets;
+    private final AtomicIntegerArray remaining;
+    private int day;
+
+    public MultiShopTick(List<? extends TickEngine> shops, ShopListener listener) {
+        this(shops, listener, ForkJoinPool.commonPool(), false, DEFAULT_CHUNK_SIZE);
+    }
+
+    public MultiShopTick(List<? extends TickEngine> shops, ShopListener listener, int parallelism, int chunkSize) {
+        this(shops, listener, new ForkJoinPool(parallelism), true, chunkSize);
+    }
+
+    public MultiShopTick(List<? extends TickEngine> shops, ShopListener listener, ForkJoinPool pool,
+            int chunkSize) {
+        this(shops, listener, pool, false, chunkSize);
+    }
+
+    private MultiShopTick(List<? extends TickEngine> shops, ShopListener listener, ForkJoinPool pool,
+            boolean ownsPool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.shops = shops.toArray(new TickEngine[0]);
+        this.listener = listener;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.chunkSize = chunkSize;
+        this.offsets = new long[this.shops.length + 1];
+        this.remaining = new AtomicIntegerArray(this.shops.length);
+    }
+
+    public int shopCount() {
+        return shops.length;
+    }
+
+    public TickEngine shop(int shop) {
+        return shops[shop];
+    }
+
+    /**
+     * The number of days ticked so far.
+     */
+    public int day() {
+        return day;
+    }
+
+    public void updateQuality(int days) {
+        for (int d = 0; d < days; d++) {
+            updateQuality();
+        }
+    }
+
+    public void updateQuality() {
+        long total = 0;
+        for (int s = 0; s < shops.length; s++) {
+            shops[s].beginTick();
+            int size = shops[s].size();
+            offsets[s] = total;
+            remaining.set(s, size);
+            total += size;
+        }
+        offsets[shops.length] = total;
+
+        for (int s = 0; s < shops.length; s++) {
+            if (offsets[s] == offsets[s + 1]) {
+                finish(s);
+            }
+        }
+
+        if (total <= chunkSize || pool.getParallelism() == 1) {
+            tick(0, total);
+        } else {
+            long chunk = Math.max(chunkSize, total / (pool.getParallelism() * CHUNKS_PER_WORKER));
+            pool.invoke(new ShopChunk(0, total, chunk));
+        }
+        day++;
+    }
+
+    private void tick(long from, long to) {
+        for (int s = shopAt(from); from < to; s++) {
+            long end = Math.min(to, offsets[s + 1]);
+            if (end > from) {
+                shops[s].updateQuality((int) (from - offsets[s]), (int) (end - offsets[s]));
+                if (remaining.addAndGet(s, (int) (from - end)) == 0) {
+                    finish(s);
+                }
+                from = end;
+            }
+        }
+    }
+
+    /**
+     * The last shop starting at or before {@code item}, which skips empty
+     * shops sharing its offset.
+     */
+    private int shopAt(long item) {
+        int low = 0;
+        int high = shops.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= item) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private void finish(int shop) {
+        shops[shop].endTick();
+        if (listener != null) {
+            listener.shopTicked(shop, day);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    private final class ShopChunk extends RecursiveAction {
+
+        private final long from;
+        private final long to;
+        private final long chunkSize;
+
+        ShopChunk(long from, long to, long chunkSize) {
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                tick(from, to);
+                return;
+            }
+
+            long middle = (from + to) >>> 1;
+            invokeAll(new ShopChunk(from, middle, chunkSize), new ShopChunk(middle, to, chunkSize));
+        }
+    }
+
+}
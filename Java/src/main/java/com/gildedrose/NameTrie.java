@@ -0,0 +1,173 @@
+package com.gildedrose;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Maps item names to int values from exact names and name prefixes, through
+ * a byte-level trie over UTF-8. A lookup is one walk over the name, picking
+ * an exact match first and the longest matching prefix otherwise.
+ */
+final class NameTrie {
+
+    static final int NONE = -1;
+
+    // Trie in compressed sparse row form: the edges of node n are
+    // [edgeStart[n], edgeStart[n + 1]), sorted by unsigned label
+    private final int[] edgeStart;
+    private final byte[] edgeLabels;
+    private final int[] edgeTargets;
+    private final int[] exactValues;
+    private final int[] prefixValues;
+
+    private NameTrie(int[] edgeStart, byte[] edgeLabels, int[] edgeTargets, int[] exactValues, int[] prefixValues) {
+        this.edgeStart = edgeStart;
+        this.edgeLabels = edgeLabels;
+        this.edgeTargets = edgeTargets;
+        this.exactValues = exactValues;
+        this.prefixValues = prefixValues;
+    }
+
+    /**
+     * The value of {@code name}, or {@link #NONE}.
+     */
+    int match(String name) {
+        int node = 0;
+        int longestPrefix = prefixValues[0];
+        for (int i = 0, length = name.length(); i < length && node >= 0; i++) {
+            char c = name.charAt(i);
+            if (c < 0x80) {
+                node = child(node, (byte) c);
+            } else if (c < 0x800) {
+                node = child(child(node, (byte) (0xC0 | c >> 6)), (byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length) {
+                int codePoint = Character.toCodePoint(c, name.charAt(++i));
+                node = child(node, (byte) (0xF0 | codePoint >> 18));
+                node = child(node, (byte) (0x80 | codePoint >> 12 & 0x3F));
+                node = child(node, (byte) (0x80 | codePoint >> 6 & 0x3F));
+                node = child(node, (byte) (0x80 | codePoint & 0x3F));
+            } else {
+                node = child(node, (byte) (0xE0 | c >> 12));
+                node = child(node, (byte) (0x80 | c >> 6 & 0x3F));
+                node = child(node, (byte) (0x80 | c & 0x3F));
+            }
+            if (node >= 0 && prefixValues[node] != NONE) {
+                longestPrefix = prefixValues[node];
+            }
+        }
+        return result(node, longestPrefix);
+    }
+
+    /**
+     * The value of the UTF-8 name in {@code utf8[from, to)}, or {@link #NONE}.
+     */
+    int match(byte[] utf8, int from, int to) {
+        int node = 0;
+        int longestPrefix = prefixValues[0];
+        for (int i = from; i < to && node >= 0; i++) {
+            node = child(node, utf8[i]);
+            if (node >= 0 && prefixValues[node] != NONE) {
+                longestPrefix = prefixValues[node];
+            }
+        }
+        return result(node, longestPrefix);
+    }
+
+    private int result(int node, int longestPrefix) {
+        if (node >= 0 && exactValues[node] != NONE) {
+            return exactValues[node];
+        }
+        return longestPrefix;
+    }
+
+    private int child(int node, byte label) {
+        if (node < 0) {
+            return -1;
+        }
+        int low = edgeStart[node];
+        int high = edgeStart[node + 1] - 1;
+        int key = label & 0xFF;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int candidate = edgeLabels[middle] & 0xFF;
+            if (candidate < key) {
+                low = middle + 1;
+            } else if (candidate > key) {
+                high = middle - 1;
+            } else {
+                return edgeTargets[middle];
+            }
+        }
+        return -1;
+    }
+
+    static final class Builder {
+
+        private static final class Node {
+            final TreeMap<Integer, Node> children = new TreeMap<>();
+            int exact = NONE;
+            int prefix = NONE;
+        }
+
+        private final Node root = new Node();
+
+        Builder exact(String name, int value) {
+            node(name).exact = value;
+            return this;
+        }
+
+        Builder prefix(String prefix, int value) {
+            node(prefix).prefix = value;
+            return this;
+        }
+
+        private Node node(String key) {
+            Node node = root;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                node = node.children.computeIfAbsent(b & 0xFF, label -> new Node());
+            }
+            return node;
+        }
+
+        NameTrie build() {
+            List<Node> nodes = new ArrayList<>();
+            Deque<Node> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                nodes.add(node);
+                queue.addAll(node.children.values());
+            }
+
+            int[] edgeStart = new int[nodes.size() + 1];
+            byte[] edgeLabels = new byte[nodes.size() - 1];
+            int[] edgeTargets = new int[nodes.size() - 1];
+            int[] exactValues = new int[nodes.size()];
+            int[] prefixValues = new int[nodes.size()];
+
+            // Nodes are numbered in breadth-first order, so children of
+            // consecutive nodes get consecutive ids
+            int edge = 0;
+            int nextChild = 1;
+            for (int n = 0; n < nodes.size(); n++) {
+                Node node = nodes.get(n);
+                edgeStart[n] = edge;
+                exactValues[n] = node.exact;
+                prefixValues[n] = node.prefix;
+                for (Integer label : node.children.keySet()) {
+                    edgeLabels[edge] = (byte) label.intValue();
+                    edgeTargets[edge] = nextChild++;
+                    edge++;
+                }
+            }
+            edgeStart[nodes.size()] = edge;
+
+            return new NameTrie(edgeStart, edgeLabels, edgeTargets, exactValues, prefixValues);
+        }
+    }
+
+}
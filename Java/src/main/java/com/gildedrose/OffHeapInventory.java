@@ -0,0 +1,263 @@
+package com.gildedrose;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inventory stored outside the Java heap in direct buffers, so a large stock
+ * adds nothing for the garbage collector to trace. Each item is a 16-byte
+ * record of name id, sellIn, quality and category; only the distinct names
+ * stay on the heap. The memory is held until {@link #close()}; closing while
+ * other threads are still using the inventory frees it only once the last of
+ * them is done, and any later use fails.
+ */
+public final class OffHeapInventory implements TickEngine, AutoCloseable {
+
+    static final int RECORD_SIZE = 16;
+
+    // Records per direct buffer; keeps each buffer well under 2 GB
+    static final int RECORDS_PER_SEGMENT = 1 << 26;
+
+    private static final int NAME_ID = 0;
+    private static final int SELL_IN = 4;
+    private static final int QUALITY = 8;
+    private static final int CATEGORY = 12;
+
+    private static final int CLOSED = 1 << 31;
+
+    private final int size;
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final ByteBuffer[] segments;
+    // Closed flag, plus the number of operations running on the segments
+    private final AtomicInteger state = new AtomicInteger();
+
+    public OffHeapInventory(int size) {
+        this.size = size;
+        int segmentCount = (size + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT;
+        this.segments = new ByteBuffer[segmentCount];
+        for (int s = 0; s < segmentCount; s++) {
+            int records = Math.min(RECORDS_PER_SEGMENT, size - s * RECORDS_PER_SEGMENT);
+            segments[s] = ByteBuffer.allocateDirect(records * RECORD_SIZE).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    public static OffHeapInventory fromItems(Item[] items) {
+        OffHeapInventory inventory = new OffHeapInventory(items.length);
+        for (int i = 0; i < items.length; i++) {
+            inventory.put(i, items[i].name, items[i].sellIn, items[i].quality);
+        }
+        return inventory;
+    }
+
+    public Item[] toItems() {
+        acquire();
+        try {
+            Item[] items = new Item[size];
+            for (int i = 0; i < size; i++) {
+                ByteBuffer segment = segments[i / RECORDS_PER_SEGMENT];
+                int record = offset(i);
+                items[i] = new Item(names.get(segment.getInt(record + NAME_ID)), segment.getInt(record + SELL_IN),
+                        segment.getInt(record + QUALITY));
+            }
+            return items;
+        } finally {
+            release();
+        }
+    }
+
+    public void set(int index, String name, int sellIn, int quality) {
+        acquire();
+        try {
+            put(index, name, sellIn, quality);
+        } finally {
+            release();
+        }
+    }
+
+    private void put(int index, String name, int sellIn, int quality) {
+        Integer nameId = nameIds.get(name);
+        if (nameId == null) {
+            nameId = names.size();
+            nameIds.put(name, nameId);
+            names.add(name);
+        }
+
+        ByteBuffer segment = segments[index / RECORDS_PER_SEGMENT];
+        int record = offset(index);
+        segment.putInt(record + NAME_ID, nameId);
+        segment.putInt(record + SELL_IN, sellIn);
+        segment.putInt(record + QUALITY, quality);
+        segment.put(record + CATEGORY, (byte) ItemCategory.of(name).ordinal());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Keeps the memory from being freed until the matching
+     * {@link #release()}.
+     */
+    private void acquire() {
+        while (true) {
+            int current = state.get();
+            if ((current & CLOSED) != 0) {
+                throw new IllegalStateException("Off-heap inventory has been closed");
+            }
+            if (state.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    private void release() {
+        if (state.decrementAndGet() == CLOSED) {
+            freeSegments();
+        }
+    }
+
+    private static int offset(int index) {
+        return (index % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+    }
+
+    public String name(int index) {
+        return names.get(getInt(index, NAME_ID));
+    }
+
+    public ItemCategory category(int index) {
+        acquire();
+        try {
+            return ItemCategory.ofOrdinal(segments[index / RECORDS_PER_SEGMENT].get(offset(index) + CATEGORY));
+        } finally {
+            release();
+        }
+    }
+
+    public int sellIn(int index) {
+        return getInt(index, SELL_IN);
+    }
+
+    public int quality(int index) {
+        return getInt(index, QUALITY);
+    }
+
+    private int getInt(int index, int field) {
+        acquire();
+        try {
+            return segments[index / RECORDS_PER_SEGMENT].getInt(offset(index) + field);
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public void updateQuality(int from, int to) {
+        acquire();
+        try {
+            tick(from, to);
+        } finally {
+            release();
+        }
+    }
+
+    private void tick(int from, int to) {
+        while (from < to) {
+            int segmentEnd = Math.min(to, (from / RECORDS_PER_SEGMENT + 1) * RECORDS_PER_SEGMENT);
+            ByteBuffer segment = segments[from / RECORDS_PER_SEGMENT];
+            for (int record = offset(from), end = record + (segmentEnd - from) * RECORD_SIZE; record < end;
+                    record += RECORD_SIZE) {
+                byte category = segment.get(record + CATEGORY);
+                int sellIn = segment.getInt(record + SELL_IN);
+                int quality = segment.getInt(record + QUALITY);
+
+                segment.putInt(record + QUALITY, QualityRules.nextQuality(category, sellIn, quality));
+                segment.putInt(record + SELL_IN, QualityRules.nextSellIn(category, sellIn));
+            }
+            from = segmentEnd;
+        }
+    }
+
+    public void updateQuality(int days) {
+        DayAdvance.checkDays(days);
+        acquire();
+        try {
+            for (int i = 0; i < size; i++) {
+                ByteBuffer segment = segments[i / RECORDS_PER_SEGMENT];
+                int record = offset(i);
+                ItemCategory category = ItemCategory.ofOrdinal(segment.get(record + CATEGORY));
+                int sellIn = segment.getInt(record + SELL_IN);
+                int quality = segment.getInt(record + QUALITY);
+
+                segment.putInt(record + QUALITY, DayAdvance.quality(category, sellIn, quality, days));
+                segment.putInt(record + SELL_IN, DayAdvance.sellIn(category, sellIn, days));
+            }
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Releases the off-heap memory instead of waiting for the buffers to be
+     * collected: right away when the inventory is idle, otherwise as soon as
+     * the updates running on other threads finish. The inventory cannot be
+     * used afterwards.
+     */
+    @Override
+    public void close() {
+        while (true) {
+            int current = state.get();
+            if ((current & CLOSED) != 0) {
+                return;
+            }
+            if (state.compareAndSet(current, current | CLOSED)) {
+                if (current == 0) {
+                    freeSegments();
+                }
+                return;
+            }
+        }
+    }
+
+    private void freeSegments() {
+        for (ByteBuffer segment : segments) {
+            free(segment);
+        }
+    }
+
+    private static void free(ByteBuffer buffer) {
+        try {
+            // Java 9+
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+        } catch (NoSuchMethodException e) {
+            freeWithCleaner(buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Leave it to the garbage collector
+        }
+    }
+
+    private static void freeWithCleaner(ByteBuffer buffer) {
+        try {
+            // Java 8
+            Method cleaner = buffer.getClass().getMethod("cleaner");
+            cleaner.setAccessible(true);
+            Object bufferCleaner = cleaner.invoke(buffer);
+            bufferCleaner.getClass().getMethod("clean").invoke(bufferCleaner);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Leave it to the garbage collector
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.gildedrose;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the daily tick of a {@link TickEngine} on a {@link ForkJoinPool}.
+ * Inventories up to {@code sequentialThreshold} items are ticked on the
+ * calling thread; larger ones are split into chunks of at least that size.
+ * Every item is updated exactly as in the sequential tick, so the result is
+ * identical.
+ */
+public class ParallelTick implements AutoCloseable {
+
+    static final int DEFAULT_SEQUENTIAL_THRESHOLD = 16 * 1024;
+
+    // Aim for a few chunks per worker so stragglers can be stolen.
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final TickEngine engine;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int sequentialThreshold;
+
+    public ParallelTick(TickEngine engine) {
+        this(engine, ForkJoinPool.commonPool(), false, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    public ParallelTick(TickEngine engine, int parallelism, int sequentialThreshold) {
+        this(engine, new ForkJoinPool(parallelism), true, sequentialThreshold);
+    }
+
+    public ParallelTick(TickEngine engine, ForkJoinPool pool, int sequentialThreshold) {
+        this(engine, pool, false, sequentialThreshold);
+    }
+
+    private ParallelTick(TickEngine engine, ForkJoinPool pool, boolean ownsPool, int sequentialThreshold) {
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Sequential threshold must be positive: " + sequentialThreshold);
+        }
+        this.engine = engine;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    public void updateQuality() {
+        engine.beginTick();
+        int size = engine.size();
+        if (size <= sequentialThreshold || pool.getParallelism() == 1) {
+            engine.updateQuality(0, size);
+        } else {
+            int chunkSize = Math.max(sequentialThreshold, size / (pool.getParallelism() * CHUNKS_PER_WORKER));
+            pool.invoke(new TickChunk(engine, 0, size, chunkSize));
+        }
+        engine.endTick();
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    private static final class TickChunk extends RecursiveAction {
+
+        private final TickEngine engine;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        TickChunk(TickEngine engine, int from, int to, int chunkSize) {
+            this.engine = engine;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                engine.updateQuality(from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new TickChunk(engine, from, middle, chunkSize), new TickChunk(engine, middle, to, chunkSize));
+        }
+    }
+
+}
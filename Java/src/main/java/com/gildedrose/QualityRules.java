@@ -0,0 +1,83 @@
+package com.gildedrose;
+
+import static com.gildedrose.GildedRose.MAX_QUALITY;
+import static com.gildedrose.GildedRose.MIN_QUALITY;
+import static com.gildedrose.GildedRose.SULFURAS_QUALITY;
+
+/**
+ * The rules of {@link GildedRose#updateQuality()} for one item, on primitive
+ * values, shared by the engines that do not keep {@link Item} objects.
+ */
+final class QualityRules {
+
+    // ItemCategory ordinals, as stored by the primitive engines
+    static final byte NORMAL = 0;
+    static final byte SULFURAS = 1;
+    static final byte AGED_BRIE = 2;
+    static final byte BACKSTAGE_PASSES = 3;
+    static final byte CONJURED = 4;
+
+    private QualityRules() {
+    }
+
+    static int clampQuality(int quality) {
+        if (quality > MAX_QUALITY) {
+            return MAX_QUALITY;
+        } else if (quality < MIN_QUALITY) {
+            return MIN_QUALITY;
+        }
+        return quality;
+    }
+
+    private static int depreciate(int sellIn, int quality, int factor) {
+        return clampQuality(quality - (sellIn <= 0 ? 2 * factor : factor));
+    }
+
+    private static int appreciateBackstagePasses(int sellIn, int quality) {
+        if (sellIn <= 0) {
+            return MIN_QUALITY;
+        } else if (sellIn <= 5) {
+            return clampQuality(quality + 3);
+        } else if (sellIn <= 10) {
+            return clampQuality(quality + 2);
+        } else {
+            return clampQuality(quality + 1);
+        }
+    }
+
+    static int nextQuality(byte category, int sellIn, int quality) {
+        if (category == SULFURAS) {
+            return SULFURAS_QUALITY;
+        }
+        if (quality <= MIN_QUALITY || quality >= MAX_QUALITY) {
+            return quality;
+        }
+
+        switch (category) {
+            case AGED_BRIE:
+                return clampQuality(quality + 1);
+            case BACKSTAGE_PASSES:
+                return appreciateBackstagePasses(sellIn, quality);
+            case CONJURED:
+                return depreciate(sellIn, quality, 2);
+            default:
+                return depreciate(sellIn, quality, 1);
+        }
+    }
+
+    static int nextSellIn(byte category, int sellIn) {
+        return category == SULFURAS ? sellIn : sellIn - 1;
+    }
+
+    /**
+     * Whether an item with this quality is at a fixed point: Sulfuras once it
+     * is at its legendary quality, anything else at or beyond a bound.
+     */
+    static boolean isSettled(byte category, int quality) {
+        if (category == SULFURAS) {
+            return quality == SULFURAS_QUALITY;
+        }
+        return quality <= MIN_QUALITY || quality >= MAX_QUALITY;
+    }
+
+}
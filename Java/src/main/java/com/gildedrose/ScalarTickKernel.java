@@ -0,0 +1,15 @@
+package com.gildedrose;
+
+final class ScalarTickKernel implements TickKernel {
+
+    @Override
+    public void tick(ItemCategory category, int[] sellIn, int[] quality, int from, int to) {
+        byte ordinal = (byte) category.ordinal();
+        for (int i = from; i < to; i++) {
+            int currentSellIn = sellIn[i];
+            quality[i] = QualityRules.nextQuality(ordinal, currentSellIn, quality[i]);
+            sellIn[i] = QualityRules.nextSellIn(ordinal, currentSellIn);
+        }
+    }
+
+}
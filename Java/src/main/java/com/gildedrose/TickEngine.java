@@ -0,0 +1,27 @@
+package com.gildedrose;
+
+/**
+ * An inventory that can be advanced one day at a time, in whole or for a
+ * range of item indices. Items are independent of each other, so disjoint
+ * ranges may be updated concurrently. A tick made of range updates must be
+ * opened by a single call to {@link #beginTick()} and completed by a single
+ * call to {@link #endTick()}.
+ */
+public interface TickEngine {
+
+    int size();
+
+    void updateQuality(int from, int to);
+
+    default void beginTick() {
+    }
+
+    default void endTick() {
+    }
+
+    default void updateQuality() {
+        beginTick();
+        updateQuality(0, size());
+        endTick();
+    }
+}
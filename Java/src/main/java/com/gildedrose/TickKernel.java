@@ -0,0 +1,10 @@
+package com.gildedrose;
+
+/**
+ * Applies one day of updates to a block of items that all share the same
+ * category, stored as parallel {@code sellIn} and {@code quality} arrays.
+ */
+public interface TickKernel {
+
+    void tick(ItemCategory category, int[] sellIn, int[] quality, int from, int to);
+}
@@ -0,0 +1,46 @@
+package com.gildedrose;
+
+/**
+ * Picks the fastest {@link TickKernel} available at runtime. The vector
+ * kernel is compiled only by the {@code vector} build profile and needs
+ * {@code --add-modules jdk.incubator.vector}; without either, or with
+ * {@code -Dgildedrose.vector=false}, the scalar kernel is used.
+ */
+public final class TickKernels {
+
+    static final String VECTOR_KERNEL_CLASS = "com.gildedrose.VectorTickKernel";
+
+    private static final TickKernel SCALAR = new ScalarTickKernel();
+    private static final TickKernel BEST = loadBest();
+
+    private TickKernels() {
+    }
+
+    public static TickKernel scalar() {
+        return SCALAR;
+    }
+
+    public static TickKernel best() {
+        return BEST;
+    }
+
+    private static TickKernel loadBest() {
+        if (!Boolean.parseBoolean(System.getProperty("gildedrose.vector", "true"))) {
+            return SCALAR;
+        }
+        TickKernel vector = vector();
+        return vector != null ? vector : SCALAR;
+    }
+
+    /**
+     * @return the vector kernel, or {@code null} if it cannot be loaded
+     */
+    static TickKernel vector() {
+        try {
+            return (TickKernel) Class.forName(VECTOR_KERNEL_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+}
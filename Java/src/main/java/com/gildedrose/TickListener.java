@@ -0,0 +1,39 @@
+package com.gildedrose;
+
+/**
+ * Observes the ticks of a {@link GildedRose}. Items may be reported from
+ * several threads at once when the tick runs in parallel.
+ */
+public interface TickListener {
+
+    /**
+     * @param days the number of days the tick advances, usually 1
+     */
+    default void tickStarted(int itemCount, int days) {
+    }
+
+    /**
+     * Called by the thread about to update items {@code [from, to)} of the
+     * current tick; those items are then reported from that thread to the
+     * listener returned. A listener that accumulates per item can return a
+     * private accumulator for the range and fold it in when the range
+     * finishes, instead of sharing state between threads on every item. The
+     * default reports the items to this listener.
+     */
+    default TickListener rangeStarted(int from, int to) {
+        return this;
+    }
+
+    void itemUpdated(int index, ItemCategory category, int oldSellIn, int oldQuality, int newSellIn, int newQuality);
+
+    /**
+     * Called by the same thread once every item of {@code [from, to)} has
+     * been reported to {@code range}, the listener returned by
+     * {@link #rangeStarted(int, int)}.
+     */
+    default void rangeFinished(TickListener range, int from, int to) {
+    }
+
+    default void tickFinished(int itemCount, long durationNanos) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.gildedrose;
+
+/**
+ * Optional {@link TickListener}s. The flight recorder listener is compiled
+ * only by the {@code jfr} build profile on JDK 11+.
+ */
+public final class TickListeners {
+
+    static final String FLIGHT_RECORDER_LISTENER_CLASS = "com.gildedrose.FlightRecorderTickListener";
+
+    private TickListeners() {
+    }
+
+    /**
+     * A listener passing every call on to each of {@code listeners} in turn.
+     */
+    public static TickListener of(TickListener... listeners) {
+        return new Composite(listeners.clone());
+    }
+
+    private static final class Composite implements TickListener {
+
+        private final TickListener[] targets;
+
+        Composite(TickListener[] targets) {
+            this.targets = targets;
+        }
+
+        @Override
+        public void tickStarted(int itemCount, int days) {
+            for (TickListener target : targets) {
+                target.tickStarted(itemCount, days);
+            }
+        }
+
+        /**
+         * This composite itself while every target keeps its own range, so
+         * nothing is allocated per range then.
+         */
+        @Override
+        public TickListener rangeStarted(int from, int to) {
+            TickListener[] ranges = null;
+            for (int t = 0; t < targets.length; t++) {
+                TickListener range = targets[t].rangeStarted(from, to);
+                if (range != targets[t] && ranges == null) {
+                    ranges = targets.clone();
+                }
+                if (ranges != null) {
+                    ranges[t] = range;
+                }
+            }
+            return ranges == null ? this : new Composite(ranges);
+        }
+
+        @Override
+        public void itemUpdated(int index, ItemCategory category, int oldSellIn, int oldQuality, int newSellIn,
+                int newQuality) {
+            for (TickListener target : targets) {
+                target.itemUpdated(index, category, oldSellIn, oldQuality, newSellIn, newQuality);
+            }
+        }
+
+        @Override
+        public void rangeFinished(TickListener range, int from, int to) {
+            TickListener[] ranges = ((Composite) range).targets;
+            for (int t = 0; t < targets.length; t++) {
+                targets[t].rangeFinished(ranges[t], from, to);
+            }
+        }
+
+        @Override
+        public void tickFinished(int itemCount, long durationNanos) {
+            for (TickListener target : targets) {
+                target.tickFinished(itemCount, durationNanos);
+            }
+        }
+    }
+
+    /**
+     * @return a listener emitting Java Flight Recorder events, or
+     *         {@code null} if it cannot be loaded
+     */
+    public static TickListener flightRecorder() {
+        try {
+            return (TickListener) Class.forName(FLIGHT_RECORDER_LISTENER_CLASS).getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.gildedrose;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counts what happens during each tick: items processed per category, items
+ * that expire, lose all their quality or reach the quality cap, and how long
+ * ticks take. Attach it with {@link GildedRose#setTickListener(TickListener)};
+ * counters are striped, so a {@link ParallelTick} can report from every
+ * worker at once.
+ */
+public class TickMetrics implements TickListener, TickMetricsMXBean {
+
+    private static final ItemCategory[] CATEGORIES = ItemCategory.values();
+
+    private final LongAdder[] processed = new LongAdder[CATEGORIES.length];
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder zeroed = new LongAdder();
+    private final LongAdder capped = new LongAdder();
+    private final LongAdder tickedItems = new LongAdder();
+    private final LongAdder tickNanos = new LongAdder();
+    private final LatencyHistogram tickDurations = new LatencyHistogram();
+
+    public TickMetrics() {
+        for (int c = 0; c < processed.length; c++) {
+            processed[c] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server as
+     * {@code com.gildedrose:type=TickMetrics,name=<name>}.
+     */
+    public ObjectName register(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("com.gildedrose:type=TickMetrics,name=" + ObjectName.quote(name));
+        server.registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public void itemUpdated(int index, ItemCategory category, int oldSellIn, int oldQuality, int newSellIn,
+            int newQuality) {
+        processed[category.ordinal()].increment();
+        int transitions = ChangeBuffer.transitions(oldSellIn, oldQuality, newSellIn, newQuality);
+        if (transitions == 0) {
+            return;
+        }
+        if ((transitions & ChangeBuffer.EXPIRED) != 0) {
+            expired.increment();
+        }
+        if ((transitions & ChangeBuffer.HIT_ZERO) != 0) {
+            zeroed.increment();
+        }
+        if ((transitions & ChangeBuffer.HIT_MAX) != 0) {
+            capped.increment();
+        }
+    }
+
+    @Override
+    public void tickFinished(int itemCount, long durationNanos) {
+        tickedItems.add(itemCount);
+        tickNanos.add(durationNanos);
+        tickDurations.record(durationNanos);
+    }
+
+    public LatencyHistogram tickDurations() {
+        return tickDurations;
+    }
+
+    @Override
+    public long getTicks() {
+        return tickDurations.count();
+    }
+
+    @Override
+    public long getItemsProcessed() {
+        long total = 0;
+        for (LongAdder counter : processed) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    public long getItemsProcessed(ItemCategory category) {
+        return processed[category.ordinal()].sum();
+    }
+
+    @Override
+    public Map<String, Long> getItemsProcessedByCategory() {
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        for (ItemCategory category : CATEGORIES) {
+            byCategory.put(category.name(), getItemsProcessed(category));
+        }
+        return byCategory;
+    }
+
+    @Override
+    public long getItemsExpired() {
+        return expired.sum();
+    }
+
+    @Override
+    public long getItemsZeroed() {
+        return zeroed.sum();
+    }
+
+    @Override
+    public long getItemsCapped() {
+        return capped.sum();
+    }
+
+    /**
+     * Items per second of tick time, over all ticks so far.
+     */
+    @Override
+    public double getItemsPerSecond() {
+        long nanos = tickNanos.sum();
+        return nanos == 0 ? 0 : tickedItems.sum() * 1e9 / nanos;
+    }
+
+    @Override
+    public double getTickDurationMean() {
+        return tickDurations.mean();
+    }
+
+    @Override
+    public long getTickDurationMax() {
+        return tickDurations.max();
+    }
+
+    @Override
+    public long getTickDurationP50() {
+        return tickDurations.percentile(50);
+    }
+
+    @Override
+    public long getTickDurationP99() {
+        return tickDurations.percentile(99);
+    }
+
+    @Override
+    public long getTickDurationP999() {
+        return tickDurations.percentile(99.9);
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder counter : processed) {
+            counter.reset();
+        }
+        expired.reset();
+        zeroed.reset();
+        capped.reset();
+        tickedItems.reset();
+        tickNanos.reset();
+        tickDurations.reset();
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.gildedrose;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link TickMetrics}. Durations are in nanoseconds.
+ */
+public interface TickMetricsMXBean {
+
+    long getTicks();
+
+    long getItemsProcessed();
+
+    Map<String, Long> getItemsProcessedByCategory();
+
+    long getItemsExpired();
+
+    long getItemsZeroed();
+
+    long getItemsCapped();
+
+    double getItemsPerSecond();
+
+    double getTickDurationMean();
+
+    long getTickDurationMax();
+
+    long getTickDurationP50();
+
+    long getTickDurationP99();
+
+    long getTickDurationP999();
+
+    void reset();
+}
@@ -0,0 +1,73 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Runs the text fixture simulation with a flight recording of the ticks,
+ * alongside the default JVM events: {@code days} ticks over copies of the
+ * {@link TexttestFixture} items. With a single copy of the fixture the daily
+ * report is printed as well. It lives with the tests, next to the fixture,
+ * and runs on the test classpath.
+ * <p>
+ * Usage: {@code FlightRecorderHarness [days] [copies] [recording.jfr]}
+ */
+public final class FlightRecorderHarness {
+
+    private FlightRecorderHarness() {
+    }
+
+    static Item[] fixture(int copies) {
+        Item[] fixture = TexttestFixture.items();
+        Item[] items = new Item[fixture.length * copies];
+        for (int i = 0; i < items.length; i++) {
+            Item item = fixture[i % fixture.length];
+            items[i] = new Item(item.name, item.sellIn, item.quality);
+        }
+        return items;
+    }
+
+    /**
+     * Advances {@code items} by {@code days} days while recording, and dumps
+     * the recording to {@code destination}.
+     */
+    static void record(Item[] items, int days, Path destination, DailyReportRenderer report)
+            throws IOException, ParseException {
+        try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+            recording.enable(TickEvent.class);
+            recording.enable(CategoryTickEvent.class);
+            recording.start();
+
+            GildedRose app = new GildedRose(items);
+            app.setTickListener(new FlightRecorderTickListener());
+            for (int day = 0; day < days; day++) {
+                if (report != null) {
+                    report.day(day, items);
+                }
+                app.updateQuality();
+            }
+            if (report != null) {
+                report.flush();
+            }
+
+            recording.stop();
+            recording.dump(destination);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, ParseException {
+        int days = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int copies = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        Path destination = Paths.get(args.length > 2 ? args[2] : "gildedrose.jfr");
+
+        DailyReportRenderer report = copies == 1 ? new DailyReportRenderer(System.out) : null;
+        record(fixture(copies), days, destination, report);
+        System.err.println("Recording written to " + destination.toAbsolutePath());
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecorderRecordingTest {
+
+    private static final int DAYS = 3;
+    private static final ItemCategory[] CATEGORIES = ItemCategory.values();
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Items and changed items per category for each of {@code DAYS} ticks of
+     * a copy of {@code items}, from a plain run.
+     */
+    private static long[][][] expectedCounts(Item[] items) {
+        Item[] copy = TestInventories.copy(items);
+        GildedRose app = new GildedRose(copy);
+        long[][][] counts = new long[DAYS][2][CATEGORIES.length];
+        for (int day = 0; day < DAYS; day++) {
+            Item[] before = TestInventories.copy(copy);
+            app.updateQuality();
+            for (int i = 0; i < copy.length; i++) {
+                int c = app.categoryOf(i).ordinal();
+                counts[day][0][c]++;
+                if (before[i].sellIn != copy[i].sellIn || before[i].quality != copy[i].quality) {
+                    counts[day][1][c]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    private List<RecordedEvent> record(Item[] items) throws IOException {
+        Path file = directory.resolve("ticks.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TickEvent.class);
+            recording.enable(CategoryTickEvent.class);
+            recording.start();
+
+            GildedRose app = new GildedRose(items);
+            app.setTickListener(new FlightRecorderTickListener());
+            try (ParallelTick parallel = new ParallelTick(app, 4, 1000)) {
+                for (int day = 0; day < DAYS; day++) {
+                    parallel.updateQuality();
+                }
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    @Test
+    @DisplayName("A recording of parallel ticks holds one tick event and one event per category for each tick")
+    void test_recordingHoldsTickAndCategoryEvents() throws IOException {
+        // Given
+        Item[] items = TestInventories.random(20_000, 41);
+        long[][][] expected = expectedCounts(items);
+
+        // When
+        List<RecordedEvent> events = record(items);
+
+        // Then
+        List<RecordedEvent> ticks = new ArrayList<>();
+        List<RecordedEvent> categoryTicks = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            String type = event.getEventType().getName();
+            if (type.equals("com.gildedrose.Tick")) {
+                ticks.add(event);
+            } else if (type.equals("com.gildedrose.CategoryTick")) {
+                categoryTicks.add(event);
+            }
+        }
+        ticks.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+        categoryTicks.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+        assertEquals(DAYS, ticks.size());
+        assertEquals(DAYS * CATEGORIES.length, categoryTicks.size());
+
+        for (int day = 0; day < DAYS; day++) {
+            long changed = 0;
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                changed += expected[day][1][c];
+            }
+            assertEquals(items.length, ticks.get(day).getLong("itemCount"));
+            assertEquals(changed, ticks.get(day).getLong("changedCount"));
+
+            long[][] actual = new long[2][CATEGORIES.length];
+            for (RecordedEvent event : categoryTicks.subList(day * CATEGORIES.length, (day + 1) * CATEGORIES.length)) {
+                int c = ItemCategory.valueOf(event.getString("category")).ordinal();
+                actual[0][c] = event.getLong("itemCount");
+                actual[1][c] = event.getLong("changedCount");
+            }
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                assertEquals(expected[day][0][c], actual[0][c], "items of " + CATEGORIES[c] + " on day " + day);
+                assertEquals(expected[day][1][c], actual[1][c], "changed " + CATEGORIES[c] + " on day " + day);
+            }
+        }
+    }
+
+}
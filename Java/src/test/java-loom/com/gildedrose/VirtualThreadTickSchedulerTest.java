@@ -0,0 +1,226 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+class VirtualThreadTickSchedulerTest {
+
+    private static final int SHOPS = 5_000;
+    private static final int DAYS = 3;
+
+    // Only with -Dgildedrose.soak=true: every advance wakes all the shops
+    // through one condition, which takes minutes on a single core
+    private static final int SOAK_SHOPS = 100_000;
+
+    // A parked virtual thread with a short stack takes about a kilobyte
+    private static final long MAX_HEAP_PER_SHOP = 8 * 1024;
+
+    private static final ZoneId[] ZONES = {
+            ZoneOffset.UTC,
+            ZoneId.of("Europe/Paris"),
+            ZoneId.of("America/New_York"),
+            ZoneId.of("Asia/Tokyo"),
+            ZoneId.of("Australia/Sydney"),
+            ZoneId.of("Asia/Kolkata") };
+
+    /**
+     * A clock that only moves when told to, and wakes the shops sleeping on
+     * it when it does.
+     */
+    private static final class FakeClock extends Clock implements VirtualThreadTickScheduler.Sleeper {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition advanced = lock.newCondition();
+        private final AtomicInteger sleeping = new AtomicInteger();
+        private volatile Instant now;
+
+        FakeClock(Instant start) {
+            this.now = start;
+        }
+
+        void advance(Duration duration) {
+            lock.lock();
+            try {
+                now = now.plus(duration);
+                advanced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int sleeping() {
+            return sleeping.get();
+        }
+
+        @Override
+        public void sleep(Duration duration) throws InterruptedException {
+            lock.lock();
+            sleeping.incrementAndGet();
+            try {
+                Instant deadline = now.plus(duration);
+                while (now.isBefore(deadline)) {
+                    advanced.await();
+                }
+            } finally {
+                sleeping.decrementAndGet();
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return zone.equals(ZoneOffset.UTC) ? this : new Clock() {
+
+                @Override
+                public Instant instant() {
+                    return now;
+                }
+
+                @Override
+                public ZoneId getZone() {
+                    return zone;
+                }
+
+                @Override
+                public Clock withZone(ZoneId other) {
+                    return FakeClock.this.withZone(other);
+                }
+            };
+        }
+    }
+
+    private static final class CountingEngine implements TickEngine {
+
+        int ticks;
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public void updateQuality(int from, int to) {
+        }
+
+        @Override
+        public void updateQuality() {
+            ticks++;
+        }
+    }
+
+    private static void awaitValue(String what, long expected, LongSupplier actual, long timeoutSeconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (actual.getAsLong() != expected) {
+            assertTrue(System.nanoTime() < deadline, what + ": " + actual.getAsLong() + " instead of " + expected);
+            Thread.sleep(10);
+        }
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    @Test
+    @DisplayName("Thousands of shops each roll once per day on a fake clock, in little heap")
+    void test_manyShopsRollOncePerDay() throws InterruptedException {
+        assertShopsRollOncePerDay(SHOPS, 30);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "gildedrose.soak", matches = "true")
+    @DisplayName("A hundred thousand shops each roll once per day on a fake clock, in little heap")
+    void test_soakShopsRollOncePerDay() throws InterruptedException {
+        assertShopsRollOncePerDay(SOAK_SHOPS, 600);
+    }
+
+    private static void assertShopsRollOncePerDay(int shopCount, long timeoutSeconds) throws InterruptedException {
+        // Given
+        FakeClock clock = new FakeClock(Instant.parse("2026-03-01T12:00:00Z"));
+        AtomicLong rolled = new AtomicLong();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        List<CountingEngine> engines = new ArrayList<>(shopCount);
+        List<VirtualThreadTickScheduler.Shop> shops = new ArrayList<>(shopCount);
+        for (int s = 0; s < shopCount; s++) {
+            engines.add(new CountingEngine());
+        }
+        long heapBefore = usedHeap(memory);
+
+        try (VirtualThreadTickScheduler scheduler = new VirtualThreadTickScheduler(clock, clock,
+                LocalTime.MIDNIGHT, 4, (shop, day) -> rolled.incrementAndGet())) {
+            for (int s = 0; s < shopCount; s++) {
+                shops.add(scheduler.schedule(engines.get(s), ZONES[s % ZONES.length]));
+            }
+            awaitValue("sleeping shops", shopCount, clock::sleeping, timeoutSeconds);
+            long heapPerShop = (usedHeap(memory) - heapBefore) / shopCount;
+
+            // When
+            for (int day = 1; day <= DAYS; day++) {
+                clock.advance(Duration.ofDays(1));
+                awaitValue("days rolled", (long) shopCount * day, rolled::get, timeoutSeconds);
+                awaitValue("sleeping shops", shopCount, clock::sleeping, timeoutSeconds);
+            }
+
+            // Then
+            assertEquals(shopCount, scheduler.scheduledShops());
+            assertTrue(heapPerShop <= MAX_HEAP_PER_SHOP, heapPerShop + " bytes of heap per shop");
+            for (int s = 0; s < shopCount; s++) {
+                assertEquals(DAYS, engines.get(s).ticks);
+                assertEquals(DAYS, shops.get(s).day());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Closing the scheduler cancels every shop")
+    void test_closeCancelsShops() throws InterruptedException {
+        // Given
+        FakeClock clock = new FakeClock(Instant.parse("2026-03-01T12:00:00Z"));
+        VirtualThreadTickScheduler scheduler = new VirtualThreadTickScheduler(clock, clock, LocalTime.MIDNIGHT, 4,
+                null);
+        for (int s = 0; s < 1000; s++) {
+            scheduler.schedule(new CountingEngine(), ZONES[s % ZONES.length]);
+        }
+        awaitValue("sleeping shops", 1000, clock::sleeping, 30);
+
+        // When
+        scheduler.close();
+
+        // Then
+        assertEquals(0, scheduler.scheduledShops());
+        assertEquals(0, clock.sleeping());
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.gildedrose;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * The bytes allocated by the current thread, from the allocation counter of
+ * the HotSpot thread MXBean.
+ */
+final class AllocationCounter {
+
+    private AllocationCounter() {
+    }
+
+    static boolean isSupported() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+        com.sun.management.ThreadMXBean threads = threads();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return true;
+    }
+
+    static long allocatedBytes() {
+        return threads().getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * The bytes allocated by the threads of {@code threadIds} together,
+     * skipping threads that have ended.
+     */
+    static long allocatedBytes(long[] threadIds) {
+        long total = 0;
+        for (long allocated : threads().getThreadAllocatedBytes(threadIds)) {
+            total += Math.max(0, allocated);
+        }
+        return total;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        return (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BlockedGildedRoseTest {
+
+    private static void assertMatchesGildedRose(TickKernel kernel) {
+        // Given
+        Item[] expected = TestInventories.random(10_007, 3, -10, 30, -2, 53);
+        Item[] actual = TestInventories.random(10_007, 3, -10, 30, -2, 53);
+        GildedRose app = new GildedRose(expected);
+        BlockedGildedRose blockedApp = new BlockedGildedRose(actual, kernel);
+
+        // When
+        for (int day = 0; day < 30; day++) {
+            app.updateQuality();
+            blockedApp.updateQuality();
+        }
+        blockedApp.copyTo(actual);
+
+        // Then
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), actual[i].toString());
+        }
+    }
+
+    @Test
+    @DisplayName("The scalar kernel over category blocks matches GildedRose")
+    void test_scalarKernelMatchesGildedRose() {
+        assertMatchesGildedRose(TickKernels.scalar());
+    }
+
+    @Test
+    @DisplayName("The best available kernel over category blocks matches GildedRose")
+    void test_bestKernelMatchesGildedRose() {
+        assertMatchesGildedRose(TickKernels.best());
+    }
+
+    @Test
+    @DisplayName("The Vector API kernel over category blocks matches GildedRose")
+    void test_vectorKernelMatchesGildedRose() {
+        TickKernel vector = TickKernels.vector();
+        assumeTrue(vector != null, "Vector kernel not built or jdk.incubator.vector not available");
+
+        assertMatchesGildedRose(vector);
+    }
+
+    private static final class FineWineRule implements ItemRule {
+
+        private final String category;
+
+        FineWineRule(String category) {
+            this.category = category;
+        }
+
+        @Override
+        public String category() {
+            return category;
+        }
+
+        @Override
+        public void tick(int[] sellIn, int[] quality, int from, int to) {
+            for (int i = from; i < to; i++) {
+                quality[i] = Math.min(quality[i] + 2, 50);
+                sellIn[i]--;
+            }
+        }
+    }
+
+    /**
+     * A registered rule applying the built-in normal-item update.
+     */
+    private static final class HouseRule implements ItemRule {
+
+        private final String category;
+
+        HouseRule(String category) {
+            this.category = category;
+        }
+
+        @Override
+        public String category() {
+            return category;
+        }
+
+        @Override
+        public void tick(int[] sellIn, int[] quality, int from, int to) {
+            TickKernels.scalar().tick(ItemCategory.NORMAL, sellIn, quality, from, to);
+        }
+    }
+
+    @Test
+    @DisplayName("Fifty registered rules taking over the normal items match GildedRose, in parallel too")
+    void test_registeredRulesMatchGildedRose() {
+        // Given
+        Item[] expected = TestInventories.random(20_000, 41);
+        ItemRuleRegistry registry = ItemRuleRegistry.withBuiltInRules();
+        for (int rule = 0; rule < 50; rule++) {
+            registry.register(new HouseRule("HOUSE_" + rule));
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (ItemCategory.of(expected[i].name) == ItemCategory.NORMAL) {
+                expected[i].name = "House " + i % 50 + " " + expected[i].name;
+                registry.register(expected[i].name, "HOUSE_" + i % 50);
+            }
+        }
+        Item[] actual = TestInventories.copy(expected);
+        GildedRose app = new GildedRose(expected);
+        BlockedGildedRose blockedApp = new BlockedGildedRose(actual, registry);
+
+        // When
+        try (ParallelTick parallel = new ParallelTick(blockedApp, 4, 1000)) {
+            for (int day = 0; day < 30; day++) {
+                app.updateQuality();
+                parallel.updateQuality();
+            }
+        }
+        blockedApp.copyTo(actual);
+
+        // Then
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), actual[i].toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Registered rules update their own items alongside the built-in ones")
+    void test_registeredRulesUpdateTheirItems() {
+        // Given
+        ItemRuleRegistry registry = ItemRuleRegistry.withBuiltInRules();
+        for (int vintage = 1; vintage <= 50; vintage++) {
+            registry.register(new FineWineRule("WINE_" + vintage), "Fine Wine " + vintage);
+        }
+        Item wine = new Item("Fine Wine 42", 10, 20);
+        Item brie = new Item("Aged Brie", 10, 20);
+        Item vest = new Item("+5 Dexterity Vest", 10, 20);
+        Item[] items = new Item[] { wine, brie, vest };
+        BlockedGildedRose app = new BlockedGildedRose(items, registry);
+
+        // When
+        for (int day = 0; day < 5; day++) {
+            app.updateQuality();
+        }
+        app.copyTo(items);
+
+        // Then
+        assertEquals(30, wine.quality);
+        assertEquals(5, wine.sellIn);
+        assertEquals(25, brie.quality);
+        assertEquals(15, vest.quality);
+    }
+
+    @Test
+    @DisplayName("Registered names and prefixes win over the built-in categories")
+    void test_registeredPrefixesWinOverBuiltInCategories() {
+        // Given
+        ItemRuleRegistry registry = ItemRuleRegistry.withBuiltInRules()
+                .register(new FineWineRule("WINE"), "Conjured Wine")
+                .registerPrefix("Fine Wine ", "WINE")
+                .register("Mana Potion", ItemCategory.CONJURED.name());
+        Item wine = new Item("Fine Wine Reserve", 10, 20);
+        Item conjuredWine = new Item("Conjured Wine", 10, 20);
+        Item potion = new Item("Mana Potion", 10, 20);
+        Item cake = new Item("Conjured Mana Cake", 10, 20);
+        Item[] items = new Item[] { wine, conjuredWine, potion, cake };
+        BlockedGildedRose app = new BlockedGildedRose(items, registry);
+
+        // When
+        for (int day = 0; day < 5; day++) {
+            app.updateQuality();
+        }
+        app.copyTo(items);
+
+        // Then
+        assertEquals(30, wine.quality);
+        assertEquals(30, conjuredWine.quality);
+        assertEquals(10, potion.quality);
+        assertEquals(10, cake.quality);
+    }
+
+    @Test
+    @DisplayName("Registering a rule under a built-in category replaces it")
+    void test_registeringBuiltInCategoryReplacesRule() {
+        // Given
+        ItemRuleRegistry registry = ItemRuleRegistry.withBuiltInRules()
+                .register(new FineWineRule(ItemCategory.AGED_BRIE.name()));
+        Item brie = new Item("Aged Brie", 10, 20);
+        Item[] items = new Item[] { brie };
+        BlockedGildedRose app = new BlockedGildedRose(items, registry);
+
+        // When
+        app.updateQuality();
+        app.copyTo(items);
+
+        // Then
+        assertEquals(22, brie.quality);
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CategoryMatcherTest {
+
+    private static void assertCategory(ItemCategory expected, String name) {
+        CategoryMatcher matcher = CategoryMatcher.standard();
+        byte[] utf8 = ("xx" + name + "yy").getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(expected, matcher.match(name), name);
+        assertEquals(expected, matcher.match(name), name + " (cached)");
+        assertEquals(expected, matcher.match(utf8, 2, utf8.length - 2), name + " (bytes)");
+    }
+
+    @Test
+    @DisplayName("Names are classified by exact name or by prefix")
+    void test_standardCategories() {
+        assertCategory(ItemCategory.AGED_BRIE, "Aged Brie");
+        assertCategory(ItemCategory.NORMAL, "Aged Brie Wheel");
+        assertCategory(ItemCategory.SULFURAS, "Sulfuras, Hand of Ragnaros");
+        assertCategory(ItemCategory.SULFURAS, "Sulfuras, Blessed Blade of the Windseeker");
+        assertCategory(ItemCategory.BACKSTAGE_PASSES, "Backstage passes to a TAFKAL80ETC concert");
+        assertCategory(ItemCategory.BACKSTAGE_PASSES, "Backstage passes to Ragnarök");
+        assertCategory(ItemCategory.CONJURED, "Conjured");
+        assertCategory(ItemCategory.CONJURED, "Conjured Mana Cake");
+        assertCategory(ItemCategory.NORMAL, "Conjuredish");
+        assertCategory(ItemCategory.NORMAL, "+5 Dexterity Vest");
+        assertCategory(ItemCategory.NORMAL, "");
+        assertCategory(ItemCategory.NORMAL, "Élixir 🐍");
+    }
+
+    @Test
+    @DisplayName("An exact name wins over a prefix, and the longest prefix wins over shorter ones")
+    void test_exactNameAndLongestPrefixWin() {
+        // Given
+        CategoryMatcher matcher = CategoryMatcher.builder()
+                .prefix("Cake", ItemCategory.AGED_BRIE)
+                .prefix("Cake of ", ItemCategory.CONJURED)
+                .exact("Cake of Doom", ItemCategory.SULFURAS)
+                .cacheSize(3)
+                .build();
+
+        // Then
+        assertEquals(ItemCategory.AGED_BRIE, matcher.match("Cakewalk"));
+        assertEquals(ItemCategory.CONJURED, matcher.match("Cake of Gloom"));
+        assertEquals(ItemCategory.SULFURAS, matcher.match("Cake of Doom"));
+        assertEquals(ItemCategory.CONJURED, matcher.match("Cake of Doom II"));
+        assertEquals(ItemCategory.NORMAL, matcher.match("Cak"));
+    }
+
+    @Test
+    @DisplayName("Lookups allocate nothing, whether they hit the cache or miss it")
+    void test_lookupsDoNotAllocate() {
+        assumeTrue(AllocationCounter.isSupported(), "No thread allocation counter on this JVM");
+
+        // Given
+        CategoryMatcher matcher = CategoryMatcher.builder()
+                .prefix("Conjured ", ItemCategory.CONJURED)
+                .cacheSize(64)
+                .build();
+        String[] names = new String[4096];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = (i % 2 == 0 ? "Conjured " : "Elixir ") + i;
+        }
+        for (int round = 0; round < 20; round++) {
+            lookUpAll(matcher, names);
+        }
+
+        // When
+        long start = AllocationCounter.allocatedBytes();
+        long empty = AllocationCounter.allocatedBytes();
+        int conjured = lookUpAll(matcher, names);
+        long end = AllocationCounter.allocatedBytes();
+
+        // Then
+        assertEquals(names.length / 2 * 10, conjured);
+        long allocated = Math.max(0, (end - empty) - (empty - start));
+        assertTrue(allocated <= 64, "lookups allocated " + allocated + " bytes");
+    }
+
+    /**
+     * Looks every name up ten times, mostly missing the small cache.
+     */
+    private static int lookUpAll(CategoryMatcher matcher, String[] names) {
+        int conjured = 0;
+        for (int round = 0; round < 10; round++) {
+            for (String name : names) {
+                if (matcher.match(name) == ItemCategory.CONJURED) {
+                    conjured++;
+                }
+            }
+        }
+        return conjured;
+    }
+
+    @Test
+    @DisplayName("'Conjured Mana Cake' from the text fixture degrades twice as fast")
+    void test_conjuredManaCakeDegradesTwiceAsFast() {
+        // Given
+        Item cake = new Item("Conjured Mana Cake", 3, 6);
+        GildedRose app = new GildedRose(new Item[] { cake });
+
+        // When
+        app.updateQuality();
+
+        // Then
+        assertEquals(4, cake.quality);
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ChangeBufferTest {
+
+    @Test
+    @DisplayName("A tick records only the changed items, with their transitions")
+    void test_changeBufferRecordsChangedItems() {
+        // Given
+        Item[] items = new Item[] {
+                new Item("Sulfuras, Hand of Ragnaros", 0, 80),
+                new Item("+5 Dexterity Vest", 1, 1),
+                new Item("Aged Brie", 5, 49),
+                new Item("Elixir of the Mongoose", -3, 0) };
+        GildedRose app = new GildedRose(items);
+        ChangeBuffer changes = new ChangeBuffer();
+        app.setTickListener(changes);
+        List<String> drained = new ArrayList<>();
+
+        // When
+        app.updateQuality();
+        int count = changes.drain((buffer, from, to) -> {
+            for (int c = from; c < to; c++) {
+                drained.add(buffer.index(c) + " " + buffer.category(c) + " " + buffer.oldSellIn(c) + "->"
+                        + buffer.newSellIn(c) + " " + buffer.oldQuality(c) + "->" + buffer.newQuality(c) + " "
+                        + buffer.transitions(c));
+            }
+        }, 2);
+
+        // Then
+        assertEquals(3, count);
+        assertEquals(0, changes.size());
+        assertEquals("1 NORMAL 1->0 1->0 " + (ChangeBuffer.EXPIRED | ChangeBuffer.HIT_ZERO), drained.get(0));
+        assertEquals("2 AGED_BRIE 5->4 49->50 " + ChangeBuffer.HIT_MAX, drained.get(1));
+        assertEquals("3 NORMAL -3->-4 0->0 0", drained.get(2));
+    }
+
+    @Test
+    @DisplayName("Workers of a parallel tick record every change exactly once")
+    void test_changeBufferUnderParallelTick() {
+        // Given
+        Random random = new Random(13);
+        Item[] items = new Item[50_000];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = random.nextBoolean() ? new Item("+5 Dexterity Vest", random.nextInt(20), random.nextInt(51))
+                    : new Item("Sulfuras, Hand of Ragnaros", random.nextInt(20), 80);
+        }
+        int expected = 0;
+        for (Item item : items) {
+            expected += item.name.startsWith("Sulfuras") ? 0 : 1;
+        }
+        GildedRose app = new GildedRose(items);
+        ChangeBuffer changes = new ChangeBuffer();
+        app.setTickListener(changes);
+        boolean[] seen = new boolean[items.length];
+
+        // When
+        try (ParallelTick parallel = new ParallelTick(app, 4, 1000)) {
+            parallel.updateQuality();
+        }
+        int count = changes.drain((buffer, from, to) -> {
+            for (int c = from; c < to; c++) {
+                seen[buffer.index(c)] = true;
+            }
+        }, 4096);
+
+        // Then
+        assertEquals(expected, count);
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(!items[i].name.startsWith("Sulfuras"), seen[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Changes of several parallel ticks are kept in index order per range until drained")
+    void test_changeBufferAcrossParallelTicks() {
+        // Given
+        Item[] items = TestInventories.random(50_000, 17);
+        int expected = 0;
+        for (Item item : items) {
+            expected += item.name.startsWith("Sulfuras") ? 0 : 1;
+        }
+        GildedRose app = new GildedRose(items);
+        ChangeBuffer changes = new ChangeBuffer();
+        app.setTickListener(changes);
+        int[] timesSeen = new int[items.length];
+        int[] descents = new int[1];
+
+        // When
+        try (ParallelTick parallel = new ParallelTick(app, 4, 1000)) {
+            parallel.updateQuality();
+            parallel.updateQuality();
+        }
+        int count = changes.drain((buffer, from, to) -> {
+            for (int c = from; c < to; c++) {
+                timesSeen[buffer.index(c)]++;
+                if (c > 0 && buffer.index(c) < buffer.index(c - 1)) {
+                    descents[0]++;
+                }
+            }
+        }, 4096);
+
+        // Then
+        assertEquals(2 * expected, count);
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(items[i].name.startsWith("Sulfuras") ? 0 : 2, timesSeen[i]);
+        }
+        // At most one step back at the start of each of the 2 x 16 ranges
+        assertTrue(descents[0] < 32, descents[0] + " steps back");
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ColumnarGildedRoseTest {
+
+    @Test
+    @DisplayName("The columnar engine produces the same inventory as GildedRose")
+    void test_columnarEngineMatchesGildedRose() {
+        // Given
+        Item[] expected = TestInventories.fixture();
+        GildedRose app = new GildedRose(expected);
+        ColumnarInventory inventory = ColumnarInventory.fromItems(TestInventories.fixture());
+        ColumnarGildedRose columnarApp = new ColumnarGildedRose(inventory);
+
+        // When / Then
+        for (int day = 0; day < 40; day++) {
+            app.updateQuality();
+            columnarApp.updateQuality();
+
+            Item[] actual = inventory.toItems();
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i].toString(), actual[i].toString(), "day " + day);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Copying back into an Item[] updates the existing items in place")
+    void test_copyToUpdatesExistingItems() {
+        // Given
+        Item[] items = TestInventories.fixture();
+        Item vest = items[0];
+        ColumnarInventory inventory = ColumnarInventory.fromItems(items);
+
+        // When
+        new ColumnarGildedRose(inventory).updateQuality();
+        inventory.copyTo(items);
+
+        // Then
+        assertSame(vest, items[0]);
+        assertEquals(9, vest.sellIn);
+        assertEquals(19, vest.quality);
+    }
+
+    @Test
+    @DisplayName("Items whose quality can no longer change leave the live list but keep aging")
+    void test_settledItemsAreSkippedButKeepAging() {
+        // Given
+        Item[] items = new Item[] {
+                new Item("Random item", 5, 0),
+                new Item("Aged Brie", 5, 50),
+                new Item("Sulfuras, Hand of Ragnaros", 5, 80),
+                new Item("Random item", 5, 20) };
+        ColumnarInventory inventory = ColumnarInventory.fromItems(items);
+        ColumnarGildedRose app = new ColumnarGildedRose(inventory);
+
+        // When
+        for (int day = 0; day < 10; day++) {
+            app.updateQuality();
+        }
+
+        // Then
+        assertEquals(1, inventory.liveCount());
+        assertTrue(inventory.isSettled(0));
+        assertEquals(-5, inventory.sellIn(0));
+        assertEquals(-5, inventory.sellIn(1));
+        assertEquals(5, inventory.sellIn(2));
+        assertEquals(-5, inventory.sellIn(3));
+        assertEquals(5, inventory.quality(3));
+    }
+
+    @Test
+    @DisplayName("Replacing a settled item brings it back to the live list")
+    void test_replacingSettledItemRevivesIt() {
+        // Given
+        ColumnarInventory inventory = ColumnarInventory.fromItems(new Item[] { new Item("Random item", 5, 0) });
+        ColumnarGildedRose app = new ColumnarGildedRose(inventory);
+        app.updateQuality();
+
+        // When
+        inventory.set(0, "Aged Brie", 3, 10);
+        app.updateQuality();
+
+        // Then
+        assertFalse(inventory.isSettled(0));
+        assertEquals(2, inventory.sellIn(0));
+        assertEquals(11, inventory.quality(0));
+    }
+
+    @Test
+    @DisplayName("Mixing daily ticks and multi-day advances matches GildedRose")
+    void test_multiDayAdvanceOverSettledItems() {
+        // Given
+        Item[] expected = TestInventories.fixture();
+        GildedRose app = new GildedRose(expected);
+        ColumnarInventory inventory = ColumnarInventory.fromItems(TestInventories.fixture());
+        ColumnarGildedRose columnarApp = new ColumnarGildedRose(inventory);
+
+        // When
+        for (int step = 1; step <= 8; step++) {
+            app.updateQuality(step);
+            columnarApp.updateQuality(step);
+            app.updateQuality();
+            columnarApp.updateQuality();
+        }
+
+        // Then
+        Item[] actual = inventory.toItems();
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), actual[i].toString());
+        }
+    }
+
+}
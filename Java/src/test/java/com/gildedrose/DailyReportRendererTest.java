@@ -0,0 +1,119 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DailyReportRendererTest {
+
+    private static Item[] items() {
+        Item[] fixture = TestInventories.fixture();
+        Item[] items = Arrays.copyOf(fixture, fixture.length + 1);
+        items[fixture.length] = new Item("Crème brûlée", Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return items;
+    }
+
+    private static void printReport(PrintStream out) {
+        Item[] items = items();
+        GildedRose app = new GildedRose(items);
+        out.println("OMGHAI!");
+        for (int day = 0; day < 31; day++) {
+            out.println("-------- day " + day + " --------");
+            out.println("name, sellIn, quality");
+            for (Item item : items) {
+                out.println(item);
+            }
+            out.println();
+            app.updateQuality();
+        }
+        out.flush();
+    }
+
+    private static byte[] renderReport(Function<ByteArrayOutputStream, DailyReportRenderer> renderer) {
+        ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+        DailyReportRenderer report = renderer.apply(rendered);
+        Item[] items = items();
+        GildedRose app = new GildedRose(items);
+        report.line("OMGHAI!");
+        for (int day = 0; day < 31; day++) {
+            report.day(day, items);
+            app.updateQuality();
+        }
+        report.flush();
+        return rendered.toByteArray();
+    }
+
+    @Test
+    @DisplayName("The rendered report is byte-identical to printing each line")
+    void test_renderedReportMatchesPrintln() {
+        // Given
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        printReport(new PrintStream(printed));
+
+        // When
+        byte[] rendered = renderReport(out -> new DailyReportRenderer(Channels.newChannel(out), 100));
+
+        // Then
+        assertArrayEquals(printed.toByteArray(), rendered);
+    }
+
+    @Test
+    @DisplayName("Names are encoded with the charset given for the output")
+    void test_renderedReportUsesGivenCharset() throws UnsupportedEncodingException {
+        // Given
+        Charset charset = StandardCharsets.ISO_8859_1;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        printReport(new PrintStream(printed, false, charset.name()));
+
+        // When
+        byte[] rendered = renderReport(out -> new DailyReportRenderer(Channels.newChannel(out), 100, charset));
+
+        // Then
+        assertArrayEquals(printed.toByteArray(), rendered);
+    }
+
+    @Test
+    @DisplayName("Rendering to a print stream follows its charset")
+    void test_renderedReportFollowsPrintStreamCharset() throws UnsupportedEncodingException {
+        // PrintStream.charset() is Java 18+
+        assumeTrue(Double.parseDouble(System.getProperty("java.specification.version")) >= 18,
+                "PrintStream does not expose its charset before Java 18");
+
+        // Given
+        Charset charset = StandardCharsets.ISO_8859_1;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        printReport(new PrintStream(printed, false, charset.name()));
+
+        // When
+        byte[] rendered = renderReport(out -> {
+            try {
+                return new DailyReportRenderer(new PrintStream(out, false, charset.name()));
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Then
+        assertArrayEquals(printed.toByteArray(), rendered);
+    }
+
+    @Test
+    @DisplayName("A charset that does not encode ASCII as single bytes is rejected")
+    void test_nonAsciiCompatibleCharsetRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DailyReportRenderer(new ByteArrayOutputStream(), StandardCharsets.UTF_16));
+    }
+
+}
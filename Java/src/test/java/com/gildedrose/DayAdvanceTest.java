@@ -0,0 +1,71 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DayAdvanceTest {
+
+    private static final String[] NAMES = {
+            "+5 Dexterity Vest",
+            "Aged Brie",
+            "Sulfuras, Hand of Ragnaros",
+            "Backstage passes to a TAFKAL80ETC concert",
+            "Conjured" };
+
+    @Test
+    @DisplayName("Advancing N days at once matches N daily ticks")
+    void test_advancingManyDaysMatchesDailyTicks() {
+        for (String name : NAMES) {
+            for (int sellIn = -15; sellIn <= 25; sellIn++) {
+                for (int quality = -2; quality <= 82; quality++) {
+                    // Given
+                    Item stepped = new Item(name, sellIn, quality);
+                    GildedRose steppedApp = new GildedRose(new Item[] { stepped });
+
+                    for (int days = 0; days <= 40; days++) {
+                        Item advanced = new Item(name, sellIn, quality);
+
+                        // When
+                        new GildedRose(new Item[] { advanced }).updateQuality(days);
+
+                        // Then
+                        assertEquals(stepped.toString(), advanced.toString(),
+                                name + " from sellIn " + sellIn + ", quality " + quality + " after " + days + " days");
+
+                        steppedApp.updateQuality();
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Advancing a huge number of days does not overflow the quality")
+    void test_advancingHugeNumberOfDays() {
+        // Given
+        Item brie = new Item("Aged Brie", 10, 20);
+        Item conjured = new Item("Conjured", 10, 20);
+        Item passes = new Item("Backstage passes to a TAFKAL80ETC concert", 10, 20);
+        GildedRose app = new GildedRose(new Item[] { brie, conjured, passes });
+
+        // When
+        app.updateQuality(Integer.MAX_VALUE);
+
+        // Then
+        assertEquals(50, brie.quality);
+        assertEquals(0, conjured.quality);
+        assertEquals(0, passes.quality);
+    }
+
+    @Test
+    @DisplayName("Advancing a negative number of days is rejected")
+    void test_negativeDaysAreRejected() {
+        GildedRose app = new GildedRose(new Item[] { new Item("Aged Brie", 10, 20) });
+
+        assertThrows(IllegalArgumentException.class, () -> app.updateQuality(-1));
+    }
+
+}
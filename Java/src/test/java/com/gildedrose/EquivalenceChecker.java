@@ -0,0 +1,370 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+/**
+ * Differential check of a candidate tick engine against a reference one.
+ * Both tick the same items day after day, in parallel chunks over all cores,
+ * and the first day an item differs is recorded. Each divergence is then
+ * minimised to the single tick that shows it: the state both engines agreed
+ * on the day before, ticked once. Counts are longs, so billions of items can
+ * be checked; only one chunk is held in memory per core.
+ * <p>
+ * The checker lives with the tests, next to the legacy engine it uses as a
+ * reference, and runs on the test classpath: {@code gradle equivalence} or
+ * from the IDE.
+ * <p>
+ * Usage: {@code EquivalenceChecker [reference] [candidate] [days] [generated items]}
+ */
+class EquivalenceChecker {
+
+    /**
+     * A tick engine under test, created over an inventory.
+     */
+    interface Engine {
+
+        /**
+         * @return a tick that advances {@code items} by one day, leaving the
+         *         result in {@code items}
+         */
+        Runnable over(Item[] items);
+    }
+
+    enum Engines implements Engine {
+        LEGACY {
+            @Override
+            public Runnable over(Item[] items) {
+                return new LegacyGildedRose(items)::updateQuality;
+            }
+        },
+        REFACTORED {
+            @Override
+            public Runnable over(Item[] items) {
+                return new GildedRose(items)::updateQuality;
+            }
+        },
+        COLUMNAR {
+            @Override
+            public Runnable over(Item[] items) {
+                ColumnarInventory inventory = ColumnarInventory.fromItems(items);
+                ColumnarGildedRose app = new ColumnarGildedRose(inventory);
+                return () -> {
+                    app.updateQuality();
+                    inventory.copyTo(items);
+                };
+            }
+        },
+        BLOCKED {
+            @Override
+            public Runnable over(Item[] items) {
+                BlockedGildedRose app = new BlockedGildedRose(items, TickKernels.best());
+                return () -> {
+                    app.updateQuality();
+                    app.copyTo(items);
+                };
+            }
+        }
+    }
+
+    static final String[] NAMES = {
+            "+5 Dexterity Vest",
+            GildedRose.AGED_BRIE,
+            GildedRose.SULFURAS_HAND_HAGNAROS,
+            GildedRose.BACKSTAGE_PASSES,
+            GildedRose.CONJURED,
+            "Conjured Mana Cake" };
+
+    private static final int CHUNK_SIZE = 1 << 14;
+    private static final int MAX_LISTED = 50;
+
+    static final class Divergence {
+
+        final String name;
+        final int sellIn;
+        final int quality;
+        final int expectedSellIn;
+        final int expectedQuality;
+        final int actualSellIn;
+        final int actualQuality;
+        final boolean minimal;
+
+        // The first item found to diverge this way
+        final int startSellIn;
+        final int startQuality;
+        final int day;
+
+        Divergence(String name, int sellIn, int quality, int[] expected, int[] actual, boolean minimal,
+                int startSellIn, int startQuality, int day) {
+            this.name = name;
+            this.sellIn = sellIn;
+            this.quality = quality;
+            this.expectedSellIn = expected[0];
+            this.expectedQuality = expected[1];
+            this.actualSellIn = actual[0];
+            this.actualQuality = actual[1];
+            this.minimal = minimal;
+            this.startSellIn = startSellIn;
+            this.startQuality = startQuality;
+            this.day = day;
+        }
+
+        @Override
+        public String toString() {
+            return name + ", " + sellIn + ", " + quality + " -> expected " + expectedSellIn + ", " + expectedQuality
+                    + " but got " + actualSellIn + ", " + actualQuality
+                    + (minimal ? "" : " (only after " + day + " days from " + startSellIn + ", " + startQuality + ")");
+        }
+    }
+
+    static final class Report {
+
+        final long items;
+        final long itemDays;
+        final long divergentItems;
+        final List<Divergence> divergences;
+
+        Report(long items, long itemDays, long divergentItems, List<Divergence> divergences) {
+            this.items = items;
+            this.itemDays = itemDays;
+            this.divergentItems = divergentItems;
+            this.divergences = divergences;
+        }
+
+        boolean isEquivalent() {
+            return divergentItems == 0;
+        }
+
+        /**
+         * Divergences with the same name and the same wrong change, each
+         * summed up by the ranges it covers and its smallest example.
+         */
+        List<String> classes() {
+            Map<String, int[]> ranges = new LinkedHashMap<>();
+            Map<String, Divergence> examples = new LinkedHashMap<>();
+            for (Divergence d : divergences) {
+                String key = d.name + ": sellIn " + signed(d.expectedSellIn - d.sellIn) + ", quality "
+                        + qualityChange(d.quality, d.expectedQuality) + " expected but sellIn "
+                        + signed(d.actualSellIn - d.sellIn) + ", quality " + qualityChange(d.quality, d.actualQuality)
+                        + (d.minimal ? "" : " over several days");
+                int[] range = ranges.computeIfAbsent(key, k -> new int[] { Integer.MAX_VALUE, Integer.MIN_VALUE,
+                        Integer.MAX_VALUE, Integer.MIN_VALUE, 0 });
+                range[0] = Math.min(range[0], d.sellIn);
+                range[1] = Math.max(range[1], d.sellIn);
+                range[2] = Math.min(range[2], d.quality);
+                range[3] = Math.max(range[3], d.quality);
+                range[4]++;
+                Divergence example = examples.get(key);
+                if (example == null || size(d) < size(example)) {
+                    examples.put(key, d);
+                }
+            }
+
+            List<String> classes = new ArrayList<>();
+            for (Map.Entry<String, int[]> entry : ranges.entrySet()) {
+                int[] range = entry.getValue();
+                classes.add(entry.getKey() + " for " + range[4] + " states in sellIn " + range[0] + ".." + range[1]
+                        + ", quality " + range[2] + ".." + range[3] + ", e.g. " + examples.get(entry.getKey()));
+            }
+            return classes;
+        }
+
+        private static int size(Divergence d) {
+            return Math.abs(d.sellIn) + Math.abs(d.quality);
+        }
+
+        private static String signed(int delta) {
+            return delta > 0 ? "+" + delta : Integer.toString(delta);
+        }
+
+        /**
+         * A quality change as a delta, or as the bound it lands on.
+         */
+        private static String qualityChange(int before, int after) {
+            if (after != before && (after == GildedRose.MIN_QUALITY || after == GildedRose.MAX_QUALITY
+                    || after == GildedRose.SULFURAS_QUALITY)) {
+                return "=" + after;
+            }
+            return signed(after - before);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append(items).append(" items, ").append(itemDays).append(" item-days checked, ")
+                    .append(divergentItems).append(" items diverged, ").append(divergences.size())
+                    .append(" distinct divergences");
+            List<String> classes = classes();
+            for (String divergenceClass : classes.subList(0, Math.min(MAX_LISTED, classes.size()))) {
+                report.append(System.lineSeparator()).append("  ").append(divergenceClass);
+            }
+            if (classes.size() > MAX_LISTED) {
+                report.append(System.lineSeparator()).append("  ...");
+            }
+            return report.toString();
+        }
+    }
+
+    private final Engine reference;
+    private final Engine candidate;
+    private final int days;
+
+    EquivalenceChecker(Engine reference, Engine candidate, int days) {
+        this.reference = reference;
+        this.candidate = candidate;
+        this.days = days;
+    }
+
+    /**
+     * Checks every combination of {@code names}, sellIn and quality.
+     */
+    Report checkStateSpace(String[] names, int minSellIn, int maxSellIn, int minQuality, int maxQuality) {
+        long sellIns = (long) maxSellIn - minSellIn + 1;
+        long qualities = (long) maxQuality - minQuality + 1;
+        return check(names.length * sellIns * qualities, (from, length) -> {
+            Item[] items = new Item[length];
+            for (int i = 0; i < length; i++) {
+                long state = from + i;
+                int quality = (int) (minQuality + state % qualities);
+                int sellIn = (int) (minSellIn + state / qualities % sellIns);
+                items[i] = new Item(names[(int) (state / qualities / sellIns)], sellIn, quality);
+            }
+            return items;
+        });
+    }
+
+    /**
+     * Checks the first {@code count} items of {@code generator}.
+     */
+    Report checkGenerated(InventoryGenerator generator, long count) {
+        return checkGenerated(generator, 0, count);
+    }
+
+    /**
+     * Checks {@code count} items of {@code generator} from item
+     * {@code first} on.
+     */
+    Report checkGenerated(InventoryGenerator generator, long first, long count) {
+        return check(count, (from, length) -> {
+            Item[] items = new Item[length];
+            generator.generate(first + from, length,
+                    (index, name, category, sellIn, quality) -> items[index] = new Item(name, sellIn, quality));
+            return items;
+        });
+    }
+
+    private interface Source {
+
+        Item[] items(long from, int length);
+    }
+
+    private Report check(long count, Source source) {
+        Map<String, Divergence> divergences = new ConcurrentHashMap<>();
+        LongAdder divergentItems = new LongAdder();
+        long chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        LongStream.range(0, chunks).parallel().forEach(chunk -> {
+            long from = chunk * CHUNK_SIZE;
+            Item[] start = source.items(from, (int) Math.min(CHUNK_SIZE, count - from));
+            checkChunk(start, divergences, divergentItems);
+        });
+
+        List<Divergence> sorted = new ArrayList<>(divergences.values());
+        sorted.sort(Comparator.comparing((Divergence d) -> d.name).thenComparingInt(d -> d.sellIn)
+                .thenComparingInt(d -> d.quality));
+        return new Report(count, count * days, divergentItems.sum(), sorted);
+    }
+
+    private void checkChunk(Item[] start, Map<String, Divergence> divergences, LongAdder divergentItems) {
+        Item[] expected = copy(start);
+        Item[] actual = copy(start);
+        Runnable expectedTick = reference.over(expected);
+        Runnable actualTick = candidate.over(actual);
+        int[] previousSellIn = new int[start.length];
+        int[] previousQuality = new int[start.length];
+        boolean[] diverged = new boolean[start.length];
+
+        for (int day = 1; day <= days; day++) {
+            for (int i = 0; i < start.length; i++) {
+                previousSellIn[i] = expected[i].sellIn;
+                previousQuality[i] = expected[i].quality;
+            }
+            expectedTick.run();
+            actualTick.run();
+
+            for (int i = 0; i < start.length; i++) {
+                if (diverged[i] || expected[i].sellIn == actual[i].sellIn && expected[i].quality == actual[i].quality) {
+                    continue;
+                }
+                diverged[i] = true;
+                divergentItems.increment();
+                record(divergences, start[i], previousSellIn[i], previousQuality[i], day);
+            }
+        }
+    }
+
+    private void record(Map<String, Divergence> divergences, Item start, int sellIn, int quality, int day) {
+        String key = start.name + ", " + sellIn + ", " + quality;
+        if (divergences.containsKey(key)) {
+            return;
+        }
+
+        int[] expected = tickOnce(reference, start.name, sellIn, quality);
+        int[] actual = tickOnce(candidate, start.name, sellIn, quality);
+        boolean minimal = expected[0] != actual[0] || expected[1] != actual[1];
+        if (!minimal) {
+            // Only shows on the full sequence: report it from the start
+            key = start.name + ", " + start.sellIn + ", " + start.quality + " after " + day + " days";
+            expected = tickDays(reference, start, day);
+            actual = tickDays(candidate, start, day);
+            sellIn = start.sellIn;
+            quality = start.quality;
+        }
+        divergences.putIfAbsent(key,
+                new Divergence(start.name, sellIn, quality, expected, actual, minimal, start.sellIn, start.quality,
+                        day));
+    }
+
+    private static int[] tickOnce(Engine engine, String name, int sellIn, int quality) {
+        return tickDays(engine, new Item(name, sellIn, quality), 1);
+    }
+
+    private static int[] tickDays(Engine engine, Item start, int days) {
+        Item[] items = { new Item(start.name, start.sellIn, start.quality) };
+        Runnable tick = engine.over(items);
+        for (int day = 0; day < days; day++) {
+            tick.run();
+        }
+        return new int[] { items[0].sellIn, items[0].quality };
+    }
+
+    private static Item[] copy(Item[] items) {
+        Item[] copy = new Item[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copy[i] = new Item(items[i].name, items[i].sellIn, items[i].quality);
+        }
+        return copy;
+    }
+
+    public static void main(String[] args) {
+        Engines reference = Engines.valueOf(args.length > 0 ? args[0] : "LEGACY");
+        Engines candidate = Engines.valueOf(args.length > 1 ? args[1] : "REFACTORED");
+        int days = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        long generated = args.length > 3 ? Long.parseLong(args[3]) : 0;
+
+        EquivalenceChecker checker = new EquivalenceChecker(reference, candidate, days);
+        long start = System.nanoTime();
+        Report report = generated > 0
+                ? checker.checkGenerated(InventoryGenerator.builder().quality(0, 80).build(), generated)
+                : checker.checkStateSpace(NAMES, -60, 60, 0, 80);
+        System.out.println(reference + " vs " + candidate + ": " + report);
+        System.out.println("Took " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+}
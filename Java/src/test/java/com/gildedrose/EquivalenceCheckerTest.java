@@ -0,0 +1,74 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.gildedrose.EquivalenceChecker.Engines;
+import com.gildedrose.EquivalenceChecker.Report;
+
+class EquivalenceCheckerTest {
+
+    @Test
+    @DisplayName("The optimized engines match the refactored one over the whole small state space")
+    void test_optimizedEnginesMatchRefactored() {
+        for (Engines candidate : new Engines[] { Engines.COLUMNAR, Engines.BLOCKED }) {
+            // When
+            Report report = new EquivalenceChecker(Engines.REFACTORED, candidate, 60)
+                    .checkStateSpace(EquivalenceChecker.NAMES, -60, 60, 0, 80);
+
+            // Then
+            assertEquals(EquivalenceChecker.NAMES.length * 121 * 81, report.items);
+            assertTrue(report.isEquivalent(), candidate + ": " + report);
+        }
+    }
+
+    @Test
+    @DisplayName("The refactored engine's known departures from the legacy one are reported minimised")
+    void test_refactoredDivergesFromLegacy() {
+        // When
+        Report report = new EquivalenceChecker(Engines.LEGACY, Engines.REFACTORED, 30)
+                .checkStateSpace(EquivalenceChecker.NAMES, -60, 60, 0, 80);
+
+        // Then
+        assertFalse(report.isEquivalent());
+        assertTrue(report.divergences.stream().allMatch(d -> d.minimal), report.toString());
+        assertTrue(report.divergences.stream().anyMatch(d -> d.name.equals("Conjured Mana Cake") && d.sellIn == 5
+                && d.quality == 10 && d.expectedQuality == 9 && d.actualQuality == 8), report.toString());
+        assertTrue(report.divergences.stream().anyMatch(d -> d.name.equals(GildedRose.AGED_BRIE) && d.quality == 0
+                && d.expectedQuality > 0 && d.actualQuality == 0), report.toString());
+    }
+
+    @Test
+    @DisplayName("Generated inventories can be checked over several days")
+    void test_generatedInventoryCheck() {
+        // When
+        Report report = new EquivalenceChecker(Engines.REFACTORED, Engines.COLUMNAR, 10)
+                .checkGenerated(InventoryGenerator.builder().seed(3).quality(0, 80).build(), 100_000);
+
+        // Then
+        assertEquals(1_000_000, report.itemDays);
+        assertTrue(report.isEquivalent(), report.toString());
+    }
+
+    @Test
+    @DisplayName("Generated items beyond the int range are checked at their own index")
+    void test_generatedInventoryBeyondIntRange() {
+        // Given
+        InventoryGenerator generator = InventoryGenerator.builder().seed(5).quality(0, 80).build();
+        long first = 3L << 32;
+
+        // When
+        Report report = new EquivalenceChecker(Engines.REFACTORED, Engines.BLOCKED, 5)
+                .checkGenerated(generator, first, 50_000);
+
+        // Then
+        assertEquals(50_000, report.items);
+        assertEquals(250_000, report.itemDays);
+        assertTrue(report.isEquivalent(), report.toString());
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ExpiryIndexTest {
+
+    private static int[] scan(GildedRose app, ItemCategory category, int minSellIn, int maxSellIn) {
+        return IntStream.range(0, app.size())
+                .filter(i -> app.categoryOf(i) != ItemCategory.SULFURAS)
+                .filter(i -> category == null || app.categoryOf(i) == category)
+                .filter(i -> app.items[i].sellIn >= minSellIn && app.items[i].sellIn <= maxSellIn)
+                .toArray();
+    }
+
+    private static int[] sorted(int[] indices) {
+        Arrays.sort(indices);
+        return indices;
+    }
+
+    private static void assertIndexMatchesScan(GildedRose app, ExpiryIndex index) {
+        int[][] ranges = { { 0, 0 }, { 0, 9 }, { 6, 10 }, { 0, 5 }, { -5, -1 }, { -1000, 1000 }, { 10, 40 } };
+        for (int[] range : ranges) {
+            assertArrayEquals(scan(app, null, range[0], range[1]), sorted(index.find(range[0], range[1])),
+                    Arrays.toString(range));
+            assertArrayEquals(scan(app, ItemCategory.BACKSTAGE_PASSES, range[0], range[1]),
+                    sorted(index.find(ItemCategory.BACKSTAGE_PASSES, range[0], range[1])), Arrays.toString(range));
+        }
+    }
+
+    @Test
+    @DisplayName("The expiry index answers sellIn ranges like a full scan as days go by")
+    void test_expiryIndexMatchesScan() {
+        // Given a window smaller than the sellIns, so items wait in overflow buckets
+        Item[] items = TestInventories.random(5000, 29, -20, 99, 0, 50);
+        GildedRose app = new GildedRose(items);
+        ExpiryIndex index = new ExpiryIndex(app, 16);
+        app.setTickListener(index);
+        assertIndexMatchesScan(app, index);
+
+        // When, Then
+        for (int day = 0; day < 30; day++) {
+            app.updateQuality();
+            assertIndexMatchesScan(app, index);
+        }
+        app.updateQuality(5);
+        assertIndexMatchesScan(app, index);
+        app.updateQuality(40);
+        assertIndexMatchesScan(app, index);
+    }
+
+    @Test
+    @DisplayName("An item changed outside a tick is refiled by update")
+    void test_expiryIndexUpdate() {
+        // Given
+        Item[] items = new Item[] {
+                new Item("+5 Dexterity Vest", 10, 20),
+                new Item("Backstage passes to a TAFKAL80ETC concert", 300, 20),
+                new Item("Sulfuras, Hand of Ragnaros", 0, 80) };
+        GildedRose app = new GildedRose(items);
+        ExpiryIndex index = new ExpiryIndex(app, 8);
+        TickMetrics metrics = new TickMetrics();
+        app.setTickListener(TickListeners.of(index, metrics));
+
+        // When
+        app.replaceItem(1, new Item("Backstage passes to a TAFKAL80ETC concert", 3, 20));
+        index.update(1);
+        app.replaceItem(2, new Item("Elixir of the Mongoose", 4, 7));
+        index.update(2);
+        app.updateQuality();
+
+        // Then
+        assertArrayEquals(new int[] { 1, 2 }, sorted(index.expiringWithin(4)));
+        assertArrayEquals(new int[] { 1 }, index.find(ItemCategory.BACKSTAGE_PASSES, 0, 300));
+        assertEquals(1, metrics.getTicks());
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FlightRecorderTickListenerTest {
+
+    @Test
+    @DisplayName("Ticks with the flight recorder listener attached give the same inventory")
+    void test_flightRecorderListenerKeepsResults() {
+        // Given
+        TickListener listener = TickListeners.flightRecorder();
+        assumeTrue(listener != null, "Flight recorder listener not built");
+        Item[] expected = new Item[] {
+                new Item("+5 Dexterity Vest", 10, 20),
+                new Item("Backstage passes to a TAFKAL80ETC concert", 5, 49),
+                new Item("Conjured Mana Cake", 3, 6) };
+        Item[] actual = new Item[expected.length];
+        for (int i = 0; i < expected.length; i++) {
+            actual[i] = new Item(expected[i].name, expected[i].sellIn, expected[i].quality);
+        }
+        GildedRose plain = new GildedRose(expected);
+        GildedRose recorded = new GildedRose(actual);
+        recorded.setTickListener(listener);
+
+        // When
+        for (int day = 0; day < 10; day++) {
+            plain.updateQuality();
+            recorded.updateQuality();
+        }
+
+        // Then
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), actual[i].toString());
+        }
+    }
+
+}
@@ -0,0 +1,280 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the daily tick of the refactored and the legacy engine. The
+ * {@code itemsUpdated} counter gives the per-item throughput; run with
+ * {@code -prof gc} to get allocation rates. The inventory is reset before
+ * every invocation, outside the measurement.
+ * <p>
+ * {@code REGISTRY} runs BlockedGildedRose through an {@link ItemRuleRegistry}
+ * with {@value #HOUSE_RULES} registered rules, which take over the normal
+ * items and update them exactly as the built-in rule does, so its results
+ * match {@code BLOCKED}.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Benchmark)
+public class GildedRoseBenchmark {
+
+    public enum Engine {
+        REFACTORED, LEGACY, COLUMNAR, PARALLEL, BLOCKED, MULTI_SHOP, REGISTRY
+    }
+
+    public enum InventoryMix {
+        ALL_NORMAL(100, 0, 0, 0, 0),
+        BRIE_HEAVY(20, 80, 0, 0, 0),
+        BACKSTAGE_HEAVY(20, 0, 80, 0, 0),
+        SULFURAS_HEAVY(20, 0, 0, 80, 0),
+        CONJURED(20, 0, 0, 0, 80),
+        BALANCED(40, 15, 15, 15, 15);
+
+        private final int[] weights;
+
+        InventoryMix(int normal, int brie, int backstage, int sulfuras, int conjured) {
+            this.weights = new int[] { normal, brie, backstage, sulfuras, conjured };
+        }
+
+        Item randomItem(Random random) {
+            int total = 0;
+            for (int weight : weights) {
+                total += weight;
+            }
+
+            int pick = random.nextInt(total);
+            int sellIn = random.nextInt(41) - 10;
+            int quality = random.nextInt(51);
+
+            if ((pick -= weights[0]) < 0) {
+                return new Item(NORMAL_NAMES[random.nextInt(NORMAL_NAMES.length)], sellIn, quality);
+            } else if ((pick -= weights[1]) < 0) {
+                return new Item(GildedRose.AGED_BRIE, sellIn, quality);
+            } else if ((pick -= weights[2]) < 0) {
+                return new Item(GildedRose.BACKSTAGE_PASSES, sellIn, quality);
+            } else if ((pick -= weights[3]) < 0) {
+                return new Item(GildedRose.SULFURAS_HAND_HAGNAROS, sellIn, GildedRose.SULFURAS_QUALITY);
+            } else {
+                return new Item(GildedRose.CONJURED, sellIn, quality);
+            }
+        }
+    }
+
+    static final String[] NORMAL_NAMES = { "+5 Dexterity Vest", "Elixir of the Mongoose" };
+
+    static final int HOUSE_RULES = 50;
+
+    /**
+     * A registered rule applying the built-in normal-item update.
+     */
+    private static final class HouseRule implements ItemRule {
+
+        private final String category;
+        private final TickKernel kernel = TickKernels.best();
+
+        HouseRule(String category) {
+            this.category = category;
+        }
+
+        @Override
+        public String category() {
+            return category;
+        }
+
+        @Override
+        public void tick(int[] sellIn, int[] quality, int from, int to) {
+            kernel.tick(ItemCategory.NORMAL, sellIn, quality, from, to);
+        }
+    }
+
+    private static ItemRuleRegistry houseRules() {
+        ItemRuleRegistry registry = ItemRuleRegistry.withBuiltInRules();
+        for (int rule = 0; rule < HOUSE_RULES; rule++) {
+            registry.register(new HouseRule("HOUSE_" + rule));
+            for (String name : NORMAL_NAMES) {
+                registry.register(houseName(rule, name), "HOUSE_" + rule);
+            }
+        }
+        return registry;
+    }
+
+    private static String houseName(int rule, String name) {
+        return "House " + rule + " " + name;
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class ItemCounter {
+        public long itemsUpdated;
+    }
+
+    // Small inventories are ticked as a batch of independent copies, so an
+    // invocation stays long enough for the per-invocation reset to be cheap
+    static final int MIN_ITEMS_PER_INVOCATION = 1 << 16;
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    public int inventorySize;
+
+    @Param
+    public InventoryMix mix;
+
+    @Param({ "1", "30" })
+    public int days;
+
+    @Param
+    public Engine engine;
+
+    private Item[] pristine;
+    private Copy[] copies;
+
+    /**
+     * One independent inventory with its engine, and how to put it back in
+     * the pristine state without allocating.
+     */
+    private static final class Copy {
+        Runnable tick;
+        Runnable reset;
+    }
+
+    @Setup(Level.Trial)
+    public void createInventory() {
+        Random random = new Random(42);
+        pristine = new Item[inventorySize];
+        for (int i = 0; i < inventorySize; i++) {
+            pristine[i] = mix.randomItem(random);
+        }
+
+        copies = new Copy[Math.max(1, MIN_ITEMS_PER_INVOCATION / inventorySize)];
+        for (int c = 0; c < copies.length; c++) {
+            copies[c] = createCopy();
+        }
+    }
+
+    private Copy createCopy() {
+        Copy copy = new Copy();
+        if (engine == Engine.COLUMNAR) {
+            ColumnarInventory start = ColumnarInventory.fromItems(pristine);
+            ColumnarInventory inventory = ColumnarInventory.fromItems(pristine);
+            ColumnarGildedRose app = new ColumnarGildedRose(inventory);
+            copy.tick = app::updateQuality;
+            copy.reset = () -> restore(inventory, start);
+            return copy;
+        }
+        if (engine == Engine.BLOCKED || engine == Engine.REGISTRY) {
+            BlockedGildedRose app = engine == Engine.BLOCKED ? new BlockedGildedRose(pristine)
+                    : new BlockedGildedRose(houseItems(pristine), houseRules());
+            int[] sellIn = app.sellIn.clone();
+            int[] quality = app.quality.clone();
+            copy.tick = app::updateQuality;
+            copy.reset = () -> {
+                System.arraycopy(sellIn, 0, app.sellIn, 0, sellIn.length);
+                System.arraycopy(quality, 0, app.quality, 0, quality.length);
+            };
+            return copy;
+        }
+
+        Item[] items = new Item[inventorySize];
+        for (int i = 0; i < inventorySize; i++) {
+            items[i] = new Item(pristine[i].name, pristine[i].sellIn, pristine[i].quality);
+        }
+        copy.reset = () -> {
+            for (int i = 0; i < inventorySize; i++) {
+                items[i].sellIn = pristine[i].sellIn;
+                items[i].quality = pristine[i].quality;
+            }
+        };
+        if (engine == Engine.LEGACY) {
+            copy.tick = new LegacyGildedRose(items)::updateQuality;
+        } else if (engine == Engine.MULTI_SHOP) {
+            copy.tick = new MultiShopTick(skewedShops(items), null)::updateQuality;
+        } else if (engine == Engine.PARALLEL) {
+            copy.tick = new ParallelTick(new GildedRose(items))::updateQuality;
+        } else {
+            copy.tick = new GildedRose(items)::updateQuality;
+        }
+        return copy;
+    }
+
+    /**
+     * The items with each normal item renamed to one of the house rules.
+     */
+    private static Item[] houseItems(Item[] items) {
+        Item[] houseItems = new Item[items.length];
+        for (int i = 0; i < items.length; i++) {
+            String name = items[i].name;
+            if (ItemCategory.of(name) == ItemCategory.NORMAL) {
+                name = houseName(i % HOUSE_RULES, name);
+            }
+            houseItems[i] = new Item(name, items[i].sellIn, items[i].quality);
+        }
+        return houseItems;
+    }
+
+    private static void restore(ColumnarInventory inventory, ColumnarInventory start) {
+        System.arraycopy(start.sellIn, 0, inventory.sellIn, 0, start.sellIn.length);
+        System.arraycopy(start.quality, 0, inventory.quality, 0, start.quality.length);
+        System.arraycopy(start.settled, 0, inventory.settled, 0, start.settled.length);
+        System.arraycopy(start.live, 0, inventory.live, 0, start.live.length);
+        inventory.liveCount = start.liveCount;
+        inventory.settledDays = start.settledDays;
+    }
+
+    /**
+     * Splits the inventory into shops of halving size, then shops of 64
+     * items, so one shop holds half of the stock.
+     */
+    private static List<GildedRose> skewedShops(Item[] items) {
+        List<GildedRose> shops = new ArrayList<>();
+        int from = 0;
+        for (int size = items.length / 2; from < items.length; size = Math.max(64, size / 2)) {
+            int to = Math.min(items.length, from + size);
+            shops.add(new GildedRose(Arrays.copyOfRange(items, from, to)));
+            from = to;
+        }
+        return shops;
+    }
+
+    /**
+     * Every invocation starts from the pristine inventory, so no measured
+     * tick runs on stock that has already reached its quality bounds.
+     */
+    @Setup(Level.Invocation)
+    public void resetInventory() {
+        for (Copy copy : copies) {
+            copy.reset.run();
+        }
+    }
+
+    @Benchmark
+    public Object updateQuality(ItemCounter counter) {
+        for (Copy copy : copies) {
+            for (int day = 0; day < days; day++) {
+                copy.tick.run();
+            }
+        }
+        counter.itemsUpdated += (long) inventorySize * days * copies.length;
+        return copies;
+    }
+
+}
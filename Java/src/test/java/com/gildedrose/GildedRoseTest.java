@@ -304,4 +304,20 @@ class GildedRoseTest {
         assertEquals(conjuredItemDepreciationRateAfterSellIn, normalItemDepreciationRateAfterSellIn * 2);
     }
 
+    @Test
+    @DisplayName("Renaming an item through GildedRose re-classifies it")
+    void test_renamingAnItemReclassifiesIt() {
+        // Given
+        Item item = new Item("Random item", 10, 20);
+        GildedRose app = new GildedRose(new Item[] { item });
+
+        // When
+        app.renameItem(0, "Aged Brie");
+        app.updateQuality();
+
+        // Then
+        assertEquals(ItemCategory.AGED_BRIE, app.categoryOf(0));
+        assertEquals(21, item.quality);
+    }
+
 }
@@ -0,0 +1,106 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InventoryAggregatesTest {
+
+    private static void assertAggregatesMatchScan(GildedRose app, InventoryAggregates aggregates) {
+        for (ItemCategory category : ItemCategory.values()) {
+            long count = 0;
+            long sum = 0;
+            long[] histogram = new long[InventoryAggregates.HISTOGRAM_SIZE];
+            for (int i = 0; i < app.size(); i++) {
+                if (app.categoryOf(i) == category) {
+                    count++;
+                    sum += app.items[i].quality;
+                    histogram[InventoryAggregates.bucketOf(app.items[i].quality)]++;
+                }
+            }
+            assertEquals(count, aggregates.count(category));
+            assertEquals(sum, aggregates.totalQuality(category));
+            assertArrayEquals(histogram, aggregates.histogram(category));
+        }
+
+        int[] qualities = new int[app.size()];
+        for (int i = 0; i < qualities.length; i++) {
+            qualities[i] = -app.items[i].quality;
+        }
+        Arrays.sort(qualities);
+        int[] top = aggregates.topK(10);
+        for (int k = 0; k < top.length; k++) {
+            assertEquals(-qualities[k], app.items[top[k]].quality);
+        }
+    }
+
+    @Test
+    @DisplayName("Aggregates kept by parallel ticks match a full scan")
+    void test_aggregatesMatchScan() {
+        // Given
+        Item[] items = TestInventories.random(50_000, 31, -5, 24, 0, 50);
+        GildedRose app = new GildedRose(items);
+        InventoryAggregates aggregates = new InventoryAggregates(app, 10);
+        app.setTickListener(aggregates);
+        assertAggregatesMatchScan(app, aggregates);
+
+        // When, Then
+        try (ParallelTick parallel = new ParallelTick(app, 4, 1000)) {
+            for (int day = 0; day < 20; day++) {
+                parallel.updateQuality();
+                assertAggregatesMatchScan(app, aggregates);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Accumulators are reused across ticks on fresh worker threads, behind a combined listener")
+    void test_accumulatorsReusedAcrossPools() {
+        // Given
+        Item[] items = TestInventories.random(50_000, 37, -5, 24, 0, 50);
+        GildedRose app = new GildedRose(items);
+        InventoryAggregates aggregates = new InventoryAggregates(app, 10);
+        app.setTickListener(TickListeners.of(new ChangeBuffer(), aggregates));
+
+        // When
+        for (int day = 0; day < 10; day++) {
+            try (ParallelTick parallel = new ParallelTick(app, 4, 1000)) {
+                parallel.updateQuality();
+            }
+        }
+
+        // Then
+        assertAggregatesMatchScan(app, aggregates);
+        assertTrue(aggregates.accumulatorCount() <= 4 * 4, aggregates.accumulatorCount() + " accumulators");
+    }
+
+    @Test
+    @DisplayName("Top k lists the best items first and follows replaced items")
+    void test_topKAfterUpdate() {
+        // Given
+        Item[] items = new Item[] {
+                new Item("+5 Dexterity Vest", 10, 20),
+                new Item("Aged Brie", 2, 49),
+                new Item("Sulfuras, Hand of Ragnaros", 0, 80),
+                new Item("Elixir of the Mongoose", 5, 7) };
+        GildedRose app = new GildedRose(items);
+        InventoryAggregates aggregates = new InventoryAggregates(app, 3);
+        app.setTickListener(aggregates);
+
+        // When
+        app.updateQuality();
+        app.replaceItem(3, new Item("Elixir of the Mongoose", 5, 45));
+        aggregates.update(3);
+
+        // Then
+        assertArrayEquals(new int[] { 2, 1, 3 }, aggregates.topK(3));
+        assertEquals(50, aggregates.averageQuality(ItemCategory.AGED_BRIE));
+        assertEquals((19 + 45) / 2.0, aggregates.averageQuality(ItemCategory.NORMAL));
+    }
+
+}
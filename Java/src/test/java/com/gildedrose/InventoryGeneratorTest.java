@@ -0,0 +1,187 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InventoryGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("The same seed gives the same inventory, however it is generated")
+    void test_generatorIsDeterministic() {
+        // Given
+        InventoryGenerator generator = InventoryGenerator.builder().seed(7).build();
+
+        // When
+        Item[] parallel = generator.items(200_000);
+        Item[] again = InventoryGenerator.builder().seed(7).build().items(200_000);
+        Item[] sequential = new Item[200_000];
+        generator.generate(0, sequential.length,
+                (index, name, category, sellIn, quality) -> sequential[index] = new Item(name, sellIn, quality));
+        ColumnarInventory columnar = generator.columnar(200_000);
+
+        // Then
+        for (int i = 0; i < parallel.length; i++) {
+            assertEquals(sequential[i].toString(), parallel[i].toString());
+            assertEquals(sequential[i].toString(), again[i].toString());
+            assertEquals(sequential[i].name, columnar.name(i));
+            assertEquals(sequential[i].sellIn, columnar.sellIn(i));
+            assertEquals(sequential[i].quality, columnar.quality(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Generated items follow the configured mix, ranges and name cardinality")
+    void test_generatorFollowsSettings() {
+        // Given
+        InventoryGenerator generator = InventoryGenerator.builder()
+                .seed(11)
+                .mix(0, 1, 1, 0, 2)
+                .sellIn(-3, 3)
+                .quality(10, 20)
+                .distinctNames(5)
+                .build();
+        int[] counts = new int[ItemCategory.values().length];
+        Set<String> names = new HashSet<>();
+
+        // When
+        generator.generate(0, 100_000, (index, name, category, sellIn, quality) -> {
+            counts[category.ordinal()]++;
+            names.add(name);
+            assertEquals(category, ItemCategory.of(name));
+            assertTrue(sellIn >= -3 && sellIn <= 3);
+            assertTrue(quality >= 10 && quality <= 20);
+        });
+
+        // Then
+        assertEquals(0, counts[ItemCategory.NORMAL.ordinal()]);
+        assertEquals(0, counts[ItemCategory.SULFURAS.ordinal()]);
+        assertEquals(50_000, counts[ItemCategory.CONJURED.ordinal()], 1_000);
+        assertEquals(25_000, counts[ItemCategory.AGED_BRIE.ordinal()], 1_000);
+        assertEquals(1 + 5 + 5, names.size());
+    }
+
+    @Test
+    @DisplayName("Items beyond the int range are generated from their own index")
+    void test_generatorBeyondIntRange() {
+        // Given
+        InventoryGenerator generator = InventoryGenerator.builder().seed(7).uniqueNames().build();
+        long first = 5L << 32;
+        Item[] far = new Item[1000];
+        Item[] wrapped = new Item[1000];
+        Item[] again = new Item[1000];
+
+        // When
+        generator.generate(first, far.length,
+                (index, name, category, sellIn, quality) -> far[index] = new Item(name, sellIn, quality));
+        generator.generate(0, wrapped.length,
+                (index, name, category, sellIn, quality) -> wrapped[index] = new Item(name, sellIn, quality));
+        generator.generate(first + 500, 500,
+                (index, name, category, sellIn, quality) -> again[index + 500] = new Item(name, sellIn, quality));
+
+        // Then
+        int same = 0;
+        for (int i = 0; i < far.length; i++) {
+            same += far[i].toString().equals(wrapped[i].toString()) ? 1 : 0;
+        }
+        assertTrue(same < 100, same + " items repeat those of the int range");
+        for (int i = 500; i < far.length; i++) {
+            assertEquals(far[i].toString(), again[i].toString());
+        }
+        assertTrue(far[1].name.endsWith(" " + (first + 1)) || far[1].name.equals(GildedRose.AGED_BRIE), far[1].name);
+    }
+
+    @Test
+    @DisplayName("Unique names give every item but Aged Brie a name of its own")
+    void test_generatorUniqueNames() {
+        // Given
+        InventoryGenerator generator = InventoryGenerator.builder().seed(13).uniqueNames().build();
+        Set<String> names = new HashSet<>();
+        int[] agedBrie = new int[1];
+
+        // When
+        generator.generate(0, 200_000, (index, name, category, sellIn, quality) -> {
+            assertEquals(category, ItemCategory.of(name));
+            if (category == ItemCategory.AGED_BRIE) {
+                agedBrie[0]++;
+            } else {
+                assertTrue(names.add(name), name);
+            }
+        });
+
+        // Then
+        assertEquals(200_000, names.size() + agedBrie[0]);
+    }
+
+    private static double meanQuality(InventoryGenerator.Distribution distribution, int[] histogram) {
+        InventoryGenerator generator = InventoryGenerator.builder()
+                .seed(17)
+                .mix(1, 0, 0, 0, 0)
+                .quality(0, 50, distribution)
+                .build();
+        long[] total = new long[1];
+        generator.generate(0, 100_000, (index, name, category, sellIn, quality) -> {
+            assertTrue(quality >= 0 && quality <= 50);
+            histogram[quality]++;
+            total[0] += quality;
+        });
+        return total[0] / 100_000.0;
+    }
+
+    @Test
+    @DisplayName("Quality follows the configured distribution")
+    void test_generatorDistributions() {
+        // Given
+        int[] uniform = new int[51];
+        int[] triangular = new int[51];
+        int[] low = new int[51];
+        int[] high = new int[51];
+
+        // When
+        double uniformMean = meanQuality(InventoryGenerator.Distribution.UNIFORM, uniform);
+        double triangularMean = meanQuality(InventoryGenerator.Distribution.TRIANGULAR, triangular);
+        double lowMean = meanQuality(InventoryGenerator.Distribution.LOW, low);
+        double highMean = meanQuality(InventoryGenerator.Distribution.HIGH, high);
+
+        // Then
+        assertEquals(25, uniformMean, 0.5);
+        assertEquals(25, triangularMean, 0.5);
+        assertEquals(50 / 3.0, lowMean, 0.5);
+        assertEquals(100 / 3.0, highMean, 0.5);
+        assertTrue(triangular[25] > 2 * triangular[5], "triangular peaks in the middle");
+        assertTrue(low[0] > 10 * low[50], "low peaks at the low end");
+        assertTrue(high[50] > 10 * high[0], "high peaks at the high end");
+        assertTrue(uniform[0] > uniform[25] / 2 && uniform[50] > uniform[25] / 2, "uniform is flat");
+    }
+
+    @Test
+    @DisplayName("A generated text inventory can be streamed through the processor")
+    void test_generatorWritesText() throws IOException {
+        // Given
+        Path file = directory.resolve("inventory.txt");
+
+        // When
+        InventoryGenerator.builder().distinctNames(100_000).build().writeText(file, 10_000);
+
+        // Then
+        try (InputStream input = Files.newInputStream(file); OutputStream output = new ByteArrayOutputStream()) {
+            assertEquals(10_000, new InventoryStreamProcessor().process(input, output, 1));
+        }
+    }
+
+}
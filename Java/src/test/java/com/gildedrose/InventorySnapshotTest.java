@@ -0,0 +1,213 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class InventorySnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private static Item[] randomItems(int size, long seed) {
+        Item[] items = TestInventories.random(size, seed, -100, 99, 0, 80);
+        items[0].sellIn = Integer.MIN_VALUE;
+        items[1].sellIn = Integer.MAX_VALUE;
+        items[2].name = "Épée de Ragnaros";
+        return items;
+    }
+
+    @ParameterizedTest
+    @EnumSource(InventorySnapshot.Codec.class)
+    @DisplayName("A snapshot restores the inventory as it was when taken")
+    void test_snapshotRoundTrip(InventorySnapshot.Codec codec) throws IOException {
+        // Given
+        Item[] items = randomItems(100_000, 17);
+        GildedRose app = new GildedRose(items);
+        InventorySnapshot snapshot = InventorySnapshot.of(items);
+        String[] expected = new String[items.length];
+        for (int i = 0; i < items.length; i++) {
+            expected[i] = items[i].toString();
+        }
+        Path file = directory.resolve("inventory.snapshot");
+
+        // When the inventory keeps ticking while the snapshot is written
+        app.updateQuality();
+        snapshot.write(file, codec);
+        Item[] restored = InventorySnapshot.read(file).toItems();
+
+        // Then
+        assertEquals(items.length, restored.length);
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(expected[i], restored[i].toString());
+        }
+    }
+
+    @Test
+    @DisplayName("A snapshot of a columnar inventory keeps the sellIn of settled items")
+    void test_snapshotOfColumnarInventory() throws IOException {
+        // Given
+        Item[] items = randomItems(10_000, 19);
+        items[0].sellIn = 0;
+        items[1].sellIn = 0;
+        ColumnarInventory inventory = ColumnarInventory.fromItems(items);
+        ColumnarGildedRose app = new ColumnarGildedRose(inventory);
+        for (int day = 0; day < 30; day++) {
+            app.updateQuality();
+        }
+        Path file = directory.resolve("columnar.snapshot");
+
+        // When
+        InventorySnapshot.of(inventory).write(file, InventorySnapshot.Codec.DEFLATE);
+        Item[] restored = InventorySnapshot.read(file).toItems();
+
+        // Then
+        Item[] expected = inventory.toItems();
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), restored[i].toString());
+        }
+    }
+
+    @Test
+    @DisplayName("A columnar snapshot keeps the captured state while parallel ticks and restocking go on")
+    void test_columnarSnapshotIsCopyOnWrite() throws Exception {
+        // Given
+        ColumnarInventory inventory = ColumnarInventory.fromItems(randomItems(100_000, 29));
+        ColumnarGildedRose app = new ColumnarGildedRose(inventory);
+        for (int day = 0; day < 5; day++) {
+            app.updateQuality();
+        }
+        String[] expected = new String[inventory.size()];
+        Item[] items = inventory.toItems();
+        for (int i = 0; i < items.length; i++) {
+            expected[i] = items[i].toString();
+        }
+        Path file = directory.resolve("columnar.snapshot");
+
+        // When the snapshot is written on another thread while the inventory changes
+        InventorySnapshot snapshot = InventorySnapshot.of(inventory);
+        inventory.set(7, "Aged Brie", 3, 3);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try (ParallelTick parallel = new ParallelTick(app, 4, 1000)) {
+            Future<?> written = writer.submit(() -> {
+                snapshot.write(file, InventorySnapshot.Codec.DEFLATE);
+                return null;
+            });
+            for (int day = 0; day < 20; day++) {
+                parallel.updateQuality();
+            }
+            written.get();
+        } finally {
+            writer.shutdown();
+        }
+        Item[] restored = InventorySnapshot.read(file).toItems();
+
+        // Then
+        assertEquals(expected.length, restored.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], restored[i].toString());
+        }
+        assertNull(inventory.pendingCapture());
+    }
+
+    @Test
+    @DisplayName("A new columnar snapshot completes the one still pending")
+    void test_columnarSnapshotsInARow() {
+        // Given
+        ColumnarInventory inventory = ColumnarInventory.fromItems(randomItems(20_000, 31));
+        ColumnarGildedRose app = new ColumnarGildedRose(inventory);
+        Item[] first = inventory.toItems();
+
+        // When
+        InventorySnapshot older = InventorySnapshot.of(inventory);
+        app.updateQuality();
+        Item[] second = inventory.toItems();
+        InventorySnapshot newer = InventorySnapshot.of(inventory);
+        app.updateQuality();
+
+        // Then
+        Item[] olderItems = older.toItems();
+        Item[] newerItems = newer.toItems();
+        for (int i = 0; i < first.length; i++) {
+            assertEquals(first[i].toString(), olderItems[i].toString());
+            assertEquals(second[i].toString(), newerItems[i].toString());
+        }
+        assertNull(inventory.pendingCapture());
+    }
+
+    @Test
+    @DisplayName("A corrupted snapshot is rejected")
+    void test_corruptedSnapshotRejected() throws IOException {
+        // Given
+        Path file = directory.resolve("corrupt.snapshot");
+        InventorySnapshot.of(randomItems(1000, 23)).write(file, InventorySnapshot.Codec.NONE);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 2] ^= 0x01;
+        Files.write(file, bytes);
+
+        // When, Then
+        assertThrows(IOException.class, () -> InventorySnapshot.read(file));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "12, -1",
+            "12, 2147483647",
+            "16, -1",
+            "16, 2147483647" })
+    @DisplayName("Counts in the header that the body cannot hold are rejected before allocating")
+    void test_impossibleHeaderCountsRejected(int offset, int count) throws IOException {
+        // Given
+        Path file = directory.resolve("counts.snapshot");
+        InventorySnapshot.of(randomItems(1000, 29)).write(file, InventorySnapshot.Codec.DEFLATE);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(offset, count);
+        Files.write(file, bytes);
+
+        // When
+        IOException failure = assertThrows(IOException.class, () -> InventorySnapshot.read(file));
+
+        // Then
+        assertTrue(failure.getMessage().startsWith("Corrupt inventory snapshot"), failure.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { -1, Integer.MAX_VALUE })
+    @DisplayName("A name longer than the body could hold is rejected before allocating")
+    void test_impossibleNameLengthRejected(int length) throws IOException {
+        // Given
+        Path file = directory.resolve("name.snapshot");
+        InventorySnapshot.of(randomItems(1000, 31)).write(file, InventorySnapshot.Codec.NONE);
+        byte[] bytes = Files.readAllBytes(file);
+        for (int i = 0; i < 4; i++) {
+            bytes[InventorySnapshot.HEADER_SIZE + i] = (byte) (length >>> 7 * i & 0x7F | 0x80);
+        }
+        bytes[InventorySnapshot.HEADER_SIZE + 4] = (byte) (length >>> 28);
+        Files.write(file, bytes);
+
+        // When
+        IOException failure = assertThrows(IOException.class, () -> InventorySnapshot.read(file));
+
+        // Then
+        assertTrue(failure.getMessage().startsWith("Corrupt inventory snapshot"), failure.getMessage());
+    }
+
+}
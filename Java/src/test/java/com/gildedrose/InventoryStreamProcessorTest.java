@@ -0,0 +1,64 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InventoryStreamProcessorTest {
+
+    private static String render(Item[] items) {
+        StringBuilder text = new StringBuilder("name, sellIn, quality\n");
+        for (Item item : items) {
+            text.append(item).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String process(String input, int bufferSize, int days) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new InventoryStreamProcessor(bufferSize).process(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output, days);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Streaming an inventory gives the same lines as GildedRose")
+    void test_streamedInventoryMatchesGildedRose() throws IOException {
+        for (int days = 0; days <= 20; days++) {
+            // Given
+            Item[] items = TestInventories.fixture();
+            String input = render(items);
+            GildedRose app = new GildedRose(items);
+
+            // When
+            for (int day = 0; day < days; day++) {
+                app.updateQuality();
+            }
+
+            // Then
+            assertEquals(render(items), process(input, 64, days));
+        }
+    }
+
+    @Test
+    @DisplayName("Lines that are not records are copied unchanged")
+    void test_nonRecordLinesAreCopied() throws IOException {
+        String input = "OMGHAI!\n-------- day 0 --------\n\nAged Brie, 2, 10";
+
+        assertEquals("OMGHAI!\n-------- day 0 --------\n\nAged Brie, 1, 11", process(input, 64, 1));
+    }
+
+    @Test
+    @DisplayName("A line longer than the buffer is rejected")
+    void test_lineLongerThanBufferIsRejected() {
+        assertThrows(IOException.class, () -> process("Backstage passes to a TAFKAL80ETC concert, 1, 2\n", 16, 1));
+    }
+
+}
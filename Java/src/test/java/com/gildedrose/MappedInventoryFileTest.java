@@ -0,0 +1,59 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedInventoryFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Ticking the mapped file in place matches GildedRose, and survives reopening")
+    void test_mappedTickMatchesGildedRose() throws IOException {
+        // Given
+        Path path = tempDir.resolve("inventory.bin");
+        MappedInventoryFile.write(path, TestInventories.fixture());
+        Item[] expected = TestInventories.fixture();
+        GildedRose app = new GildedRose(expected);
+
+        // When
+        try (MappedInventoryFile file = MappedInventoryFile.open(path)) {
+            for (int day = 0; day < 20; day++) {
+                app.updateQuality();
+                file.updateQuality();
+            }
+        }
+        app.updateQuality(5);
+        try (MappedInventoryFile file = MappedInventoryFile.open(path)) {
+            file.updateQuality(5);
+        }
+
+        // Then
+        try (MappedInventoryFile file = MappedInventoryFile.open(path)) {
+            Item[] actual = file.toItems();
+            assertEquals(expected.length, file.size());
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i].toString(), actual[i].toString());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Opening a file that is not an inventory fails")
+    void test_openingForeignFileFails() throws IOException {
+        Path path = tempDir.resolve("foreign.bin");
+        Files.write(path, new byte[64]);
+
+        assertThrows(IOException.class, () -> MappedInventoryFile.open(path));
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MultiShopTickTest {
+
+    @Test
+    @DisplayName("Skewed shops ticked together end up as if each was ticked on its own")
+    void test_multiShopTickMatchesSequentialTicks() {
+        // Given one giant shop, some empty ones and many small ones
+        Random random = new Random(3);
+        List<Item[]> expected = new ArrayList<>();
+        List<GildedRose> shops = new ArrayList<>();
+        for (int s = 0; s < 200; s++) {
+            int size = s == 0 ? 60_000 : s % 10 == 0 ? 0 : random.nextInt(300);
+            Item[] items = TestInventories.random(size, 3_000 + s);
+            expected.add(TestInventories.copy(items));
+            shops.add(new GildedRose(items));
+        }
+        AtomicIntegerArray ticked = new AtomicIntegerArray(shops.size());
+        ConcurrentLinkedQueue<String> outOfOrder = new ConcurrentLinkedQueue<>();
+
+        // When
+        try (MultiShopTick tick = new MultiShopTick(shops, (shop, day) -> {
+            if (ticked.getAndIncrement(shop) != day) {
+                outOfOrder.add(shop + "@" + day);
+            }
+        }, 4, 1000)) {
+            tick.updateQuality(20);
+        }
+
+        // Then
+        assertEquals(0, outOfOrder.size(), outOfOrder.toString());
+        for (int s = 0; s < shops.size(); s++) {
+            assertEquals(20, ticked.get(s));
+            GildedRose sequential = new GildedRose(expected.get(s));
+            for (int day = 0; day < 20; day++) {
+                sequential.updateQuality();
+            }
+            for (int i = 0; i < expected.get(s).length; i++) {
+                assertEquals(expected.get(s)[i].toString(), shops.get(s).items[i].toString());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Columnar shops are compacted as each of them completes a day")
+    void test_multiShopTickOverColumnarShops() {
+        // Given
+        Random random = new Random(5);
+        List<Item[]> expected = new ArrayList<>();
+        List<ColumnarInventory> inventories = new ArrayList<>();
+        List<ColumnarGildedRose> shops = new ArrayList<>();
+        for (int s = 0; s < 50; s++) {
+            Item[] items = TestInventories.random(s == 7 ? 20_000 : random.nextInt(500), 5_000 + s);
+            expected.add(TestInventories.copy(items));
+            inventories.add(ColumnarInventory.fromItems(items));
+            shops.add(new ColumnarGildedRose(inventories.get(s)));
+        }
+
+        // When
+        try (MultiShopTick tick = new MultiShopTick(shops, null, 3, 512)) {
+            tick.updateQuality(40);
+        }
+
+        // Then
+        for (int s = 0; s < shops.size(); s++) {
+            GildedRose sequential = new GildedRose(expected.get(s));
+            for (int day = 0; day < 40; day++) {
+                sequential.updateQuality();
+            }
+            Item[] actual = inventories.get(s).toItems();
+            for (int i = 0; i < actual.length; i++) {
+                assertEquals(expected.get(s)[i].toString(), actual[i].toString());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OffHeapInventoryTest {
+
+    @Test
+    @DisplayName("Ticking the off-heap inventory matches GildedRose")
+    void test_offHeapTickMatchesGildedRose() {
+        // Given
+        Item[] expected = TestInventories.fixture();
+        GildedRose app = new GildedRose(expected);
+
+        try (OffHeapInventory inventory = OffHeapInventory.fromItems(TestInventories.fixture())) {
+            // When
+            for (int day = 0; day < 20; day++) {
+                app.updateQuality();
+                inventory.updateQuality();
+            }
+            app.updateQuality(7);
+            inventory.updateQuality(7);
+
+            // Then
+            Item[] actual = inventory.toItems();
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i].toString(), actual[i].toString());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A closed off-heap inventory can no longer be used")
+    void test_closedInventoryIsUnusable() {
+        OffHeapInventory inventory = OffHeapInventory.fromItems(TestInventories.fixture());
+        inventory.close();
+
+        assertThrows(IllegalStateException.class, inventory::updateQuality);
+    }
+
+    @Test
+    @DisplayName("Closing while a parallel tick runs waits for the running updates, then stops further ones")
+    void test_closeDuringParallelTick() throws InterruptedException {
+        // Given
+        OffHeapInventory inventory = OffHeapInventory.fromItems(TestInventories.random(200_000, 37));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch ticking = new CountDownLatch(1);
+        Thread ticker = new Thread(() -> {
+            try (ParallelTick parallel = new ParallelTick(inventory, 4, 1000)) {
+                while (true) {
+                    parallel.updateQuality();
+                    ticking.countDown();
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        ticker.start();
+        ticking.await();
+
+        // When
+        inventory.close();
+        ticker.join();
+
+        // Then
+        Throwable cause = failure.get();
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        assertEquals(IllegalStateException.class, cause.getClass());
+        assertThrows(IllegalStateException.class, () -> inventory.quality(0));
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ParallelTickTest {
+
+    @Test
+    @DisplayName("A parallel tick gives the same inventory as a sequential one")
+    void test_parallelTickMatchesSequentialTick() {
+        // Given
+        Item[] expected = TestInventories.random(100_000, 7);
+        Item[] actual = TestInventories.random(100_000, 7);
+        GildedRose sequential = new GildedRose(expected);
+
+        // When
+        try (ParallelTick parallel = new ParallelTick(new GildedRose(actual), 4, 1000)) {
+            for (int day = 0; day < 30; day++) {
+                sequential.updateQuality();
+                parallel.updateQuality();
+            }
+        }
+
+        // Then
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), actual[i].toString());
+        }
+    }
+
+    @Test
+    @DisplayName("A parallel tick also drives the columnar engine")
+    void test_parallelTickOverColumnarEngine() {
+        // Given
+        Item[] expected = TestInventories.random(50_000, 11);
+        ColumnarInventory inventory = ColumnarInventory.fromItems(TestInventories.random(50_000, 11));
+        GildedRose sequential = new GildedRose(expected);
+
+        // When
+        try (ParallelTick parallel = new ParallelTick(new ColumnarGildedRose(inventory), 3, 777)) {
+            for (int day = 0; day < 30; day++) {
+                sequential.updateQuality();
+                parallel.updateQuality();
+            }
+        }
+
+        // Then
+        Item[] actual = inventory.toItems();
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), actual[i].toString());
+        }
+    }
+
+}
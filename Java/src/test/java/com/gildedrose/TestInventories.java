@@ -0,0 +1,59 @@
+package com.gildedrose;
+
+/**
+ * Inventories shared by the tests: a small hand-written fixture, and seeded
+ * random stock of every category from {@link InventoryGenerator}.
+ */
+final class TestInventories {
+
+    private TestInventories() {
+    }
+
+    /**
+     * The texttest items, plus Aged Brie and backstage passes away from the
+     * quality bounds and a bare {@code "Conjured"}.
+     */
+    static Item[] fixture() {
+        return new Item[] {
+                new Item("+5 Dexterity Vest", 10, 20),
+                new Item("Aged Brie", 2, 0),
+                new Item("Aged Brie", 5, 30),
+                new Item("Elixir of the Mongoose", 5, 7),
+                new Item("Sulfuras, Hand of Ragnaros", 0, 80),
+                new Item("Sulfuras, Hand of Ragnaros", -1, 80),
+                new Item("Backstage passes to a TAFKAL80ETC concert", 15, 20),
+                new Item("Backstage passes to a TAFKAL80ETC concert", 10, 49),
+                new Item("Backstage passes to a TAFKAL80ETC concert", 5, 49),
+                new Item("Backstage passes to a TAFKAL80ETC concert", 5, 30),
+                new Item("Conjured", 3, 30),
+                new Item("Conjured Mana Cake", 3, 6) };
+    }
+
+    /**
+     * Random items with sellIn in -10..30 and quality in 0..50.
+     */
+    static Item[] random(int size, long seed) {
+        return random(size, seed, -10, 30, 0, 50);
+    }
+
+    /**
+     * Random items in the given ranges; Sulfuras always has quality 80.
+     */
+    static Item[] random(int size, long seed, int minSellIn, int maxSellIn, int minQuality, int maxQuality) {
+        return InventoryGenerator.builder()
+                .seed(seed)
+                .sellIn(minSellIn, maxSellIn)
+                .quality(minQuality, maxQuality)
+                .build()
+                .items(size);
+    }
+
+    static Item[] copy(Item[] items) {
+        Item[] copy = new Item[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copy[i] = new Item(items[i].name, items[i].sellIn, items[i].quality);
+        }
+        return copy;
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that warmed-up ticks over a million items allocate nothing, or a
+ * fixed amount per parallel chunk, using the {@link AllocationCounter}. All
+ * measured ticks are added up, so one allocating tick is enough to fail.
+ */
+class TickAllocationTest {
+
+    private static final int INVENTORY_SIZE = 1_000_000;
+    private static final int WARMUP_TICKS = 30;
+    private static final int MEASURED_TICKS = 5;
+
+    // Slack for the measurement itself, over all measured ticks
+    private static final long MAX_ALLOCATED_BYTES = 64;
+
+    // Task objects and pool bookkeeping of a parallel tick, per chunk
+    private static final long MAX_ALLOCATED_BYTES_PER_CHUNK = 256;
+
+    private static final int PARALLELISM = 4;
+
+    private static final String[] NAMES = {
+            "+5 Dexterity Vest",
+            "Aged Brie",
+            "Sulfuras, Hand of Ragnaros",
+            "Backstage passes to a TAFKAL80ETC concert",
+            "Conjured Mana Cake" };
+
+    @BeforeAll
+    static void requireAllocationCounter() {
+        assumeTrue(AllocationCounter.isSupported(), "No thread allocation counter on this JVM");
+    }
+
+    /**
+     * Every category, with sellIn and quality spread so that every branch of
+     * the rules is still taken after the warm-up ticks.
+     */
+    private static Item[] inventory() {
+        Item[] items = new Item[INVENTORY_SIZE];
+        for (int i = 0; i < items.length; i++) {
+            String name = NAMES[i % NAMES.length];
+            int quality = name.startsWith("Sulfuras") ? GildedRose.SULFURAS_QUALITY : (i / NAMES.length) % 51;
+            items[i] = new Item(name, (i / 7) % 120 - 20, quality);
+        }
+        return items;
+    }
+
+    private static long[] threadIds(List<Thread> threads) {
+        long[] ids = new long[threads.size()];
+        for (int t = 0; t < ids.length; t++) {
+            ids[t] = threads.get(t).getId();
+        }
+        return ids;
+    }
+
+    /**
+     * The bytes allocated by all measured ticks on the calling thread and on
+     * {@code workers}, less what reading the counters costs.
+     */
+    private static long allocatedByTicks(Runnable tick, List<Thread> workers) {
+        for (int t = 0; t < WARMUP_TICKS; t++) {
+            tick.run();
+        }
+
+        long[] ids = threadIds(workers);
+        long overhead = 0;
+        long allocated = 0;
+        for (int t = 0; t < MEASURED_TICKS; t++) {
+            long start = AllocationCounter.allocatedBytes() + AllocationCounter.allocatedBytes(ids);
+            long empty = AllocationCounter.allocatedBytes() + AllocationCounter.allocatedBytes(ids);
+            tick.run();
+            long end = AllocationCounter.allocatedBytes() + AllocationCounter.allocatedBytes(ids);
+            overhead += empty - start;
+            allocated += end - empty;
+        }
+        return Math.max(0, allocated - overhead);
+    }
+
+    private static void assertNoAllocation(String engine, Runnable tick) {
+        long allocated = allocatedByTicks(tick, new CopyOnWriteArrayList<>());
+        assertTrue(allocated <= MAX_ALLOCATED_BYTES, MEASURED_TICKS + " " + engine + " ticks of " + INVENTORY_SIZE
+                + " items allocated " + allocated + " bytes");
+    }
+
+    @Test
+    @DisplayName("A tick of the refactored engine allocates nothing")
+    void test_gildedRoseTickDoesNotAllocate() {
+        GildedRose app = new GildedRose(inventory());
+        assertNoAllocation("GildedRose", app::updateQuality);
+    }
+
+    @Test
+    @DisplayName("A tick of the columnar engine allocates nothing")
+    void test_columnarTickDoesNotAllocate() {
+        ColumnarGildedRose app = new ColumnarGildedRose(ColumnarInventory.fromItems(inventory()));
+        assertNoAllocation("ColumnarGildedRose", app::updateQuality);
+    }
+
+    @Test
+    @DisplayName("A tick of the blocked engine allocates nothing")
+    void test_blockedTickDoesNotAllocate() {
+        BlockedGildedRose app = new BlockedGildedRose(inventory(), TickKernels.scalar());
+        assertNoAllocation("BlockedGildedRose", app::updateQuality);
+    }
+
+    @Test
+    @DisplayName("A tick of the blocked engine with the best available kernel allocates nothing")
+    void test_blockedTickWithBestKernelDoesNotAllocate() {
+        BlockedGildedRose app = new BlockedGildedRose(inventory(), TickKernels.best());
+        assertNoAllocation("BlockedGildedRose with " + TickKernels.best().getClass().getSimpleName(),
+                app::updateQuality);
+    }
+
+    @Test
+    @DisplayName("A tick capturing changes allocates nothing once the buffer has grown")
+    void test_changeCaptureDoesNotAllocate() {
+        GildedRose app = new GildedRose(inventory());
+        ChangeBuffer changes = new ChangeBuffer();
+        ChangeBuffer.Consumer ignore = (buffer, from, to) -> {
+        };
+        app.setTickListener(changes);
+        assertNoAllocation("GildedRose with ChangeBuffer", () -> {
+            app.updateQuality();
+            changes.drain(ignore, 4096);
+        });
+    }
+
+    @Test
+    @DisplayName("A parallel tick allocates a fixed amount per chunk, whatever the number of items")
+    void test_parallelTickAllocatesPerChunkOnly() {
+        // Given
+        List<Thread> workers = new CopyOnWriteArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(PARALLELISM, p -> {
+            ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            workers.add(worker);
+            return worker;
+        }, null, false);
+        GildedRose app = new GildedRose(inventory());
+        ChangeBuffer changes = new ChangeBuffer();
+        ChangeBuffer.Consumer ignore = (buffer, from, to) -> {
+        };
+        app.setTickListener(changes);
+        int chunks = INVENTORY_SIZE / Math.max(ParallelTick.DEFAULT_SEQUENTIAL_THRESHOLD,
+                INVENTORY_SIZE / (PARALLELISM * 4));
+
+        try {
+            ParallelTick parallel = new ParallelTick(app, pool, ParallelTick.DEFAULT_SEQUENTIAL_THRESHOLD);
+
+            // When
+            long allocated = allocatedByTicks(() -> {
+                parallel.updateQuality();
+                changes.drain(ignore, 4096);
+            }, workers);
+
+            // Then
+            long allowed = MAX_ALLOCATED_BYTES + MEASURED_TICKS * chunks * MAX_ALLOCATED_BYTES_PER_CHUNK;
+            assertTrue(allocated <= allowed, MEASURED_TICKS + " parallel ticks in " + chunks + " chunks allocated "
+                    + allocated + " bytes");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
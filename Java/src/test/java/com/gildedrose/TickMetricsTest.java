@@ -0,0 +1,84 @@
+package com.gildedrose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TickMetricsTest {
+
+    @Test
+    @DisplayName("Tick metrics count items per category and their transitions")
+    void test_metricsCountItemsAndTransitions() {
+        // Given
+        Item[] items = new Item[] {
+                new Item("+5 Dexterity Vest", 1, 1),
+                new Item("Aged Brie", 5, 49),
+                new Item("Sulfuras, Hand of Ragnaros", 0, 80),
+                new Item("Conjured Mana Cake", 3, 6) };
+        GildedRose app = new GildedRose(items);
+        TickMetrics metrics = new TickMetrics();
+        app.setTickListener(metrics);
+
+        // When
+        app.updateQuality();
+        app.updateQuality();
+
+        // Then
+        assertEquals(2, metrics.getTicks());
+        assertEquals(8, metrics.getItemsProcessed());
+        assertEquals(2, metrics.getItemsProcessed(ItemCategory.CONJURED));
+        assertEquals(1, metrics.getItemsExpired());
+        assertEquals(1, metrics.getItemsZeroed());
+        assertEquals(1, metrics.getItemsCapped());
+        assertTrue(metrics.getItemsPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("Tick metrics are readable over JMX")
+    void test_metricsRegisteredAsMBean() throws Exception {
+        // Given
+        GildedRose app = new GildedRose(new Item[] { new Item("+5 Dexterity Vest", 10, 20) });
+        TickMetrics metrics = new TickMetrics();
+        app.setTickListener(metrics);
+        ObjectName name = metrics.register("test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        // When
+        app.updateQuality();
+
+        // Then
+        try {
+            assertEquals(1L, server.getAttribute(name, "Ticks"));
+            assertEquals(1L, server.getAttribute(name, "ItemsProcessed"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    @DisplayName("The latency histogram reports percentiles within its bucket precision")
+    void test_histogramPercentiles() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // When
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        // Then
+        assertEquals(10_000, histogram.count());
+        assertEquals(10_000_000, histogram.max());
+        long median = histogram.percentile(50);
+        assertTrue(median >= 5_000_000 && median < 5_000_000 * 1.04, "median " + median);
+        assertEquals(10_000_000, histogram.percentile(100));
+    }
+
+}